@@ -1,12 +1,30 @@
 package dev.notalpha.hyphen;
 
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Defines a single serializer class. <br>
+ * With {@link Options#FAST_ALLOC} the serializer publishes its instance into the definer that loaded it,
+ * so every build has its own hand-off and serializers can be built concurrently.
+ */
 public class ClassDefiner extends ClassLoader {
-	public static HyphenSerializer<?, ?> SERIALIZER;
+	@Nullable
+	private HyphenSerializer<?, ?> serializer;
 
 	public ClassDefiner(ClassLoader parent) {
 		super(parent);
 	}
 
+	/**
+	 * Called from the static initializer of a generated serializer.
+	 */
+	public static void publish(Class<?> aClass, HyphenSerializer<?, ?> serializer) {
+		// Pregenerated serializers get loaded by a normal class loader and have nowhere to publish to.
+		if (aClass.getClassLoader() instanceof ClassDefiner definer) {
+			definer.serializer = serializer;
+		}
+	}
+
 	public Class<?> def(String name, byte[] bytes) {
 		final Class<?> aClass = defineClass(name, bytes, 0, bytes.length, null);
 		try {
@@ -16,4 +34,12 @@ public class ClassDefiner extends ClassLoader {
 		}
 		return aClass;
 	}
+
+	/**
+	 * @return The serializer instance created by the class initializer, null if it was generated without {@link Options#FAST_ALLOC}.
+	 */
+	@Nullable
+	public HyphenSerializer<?, ?> getSerializer() {
+		return serializer;
+	}
 }
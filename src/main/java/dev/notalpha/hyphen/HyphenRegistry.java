@@ -0,0 +1,98 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.IOInterface;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps built serializers, so a serializer for the same classes and settings is only generated once per registry. <br>
+ * A serializer is reused when the IO class, data class, class name, options, definitions, annotation providers, class loader and lookup are all equal.
+ * Finding an existing serializer does not lock. If several threads ask for a missing one, one thread builds it and the others wait for it.
+ * <p>
+ * The registry holds strong references to the data classes, so use your own registry instead of {@link #global()} if they may get unloaded.
+ */
+public final class HyphenRegistry {
+	private static final HyphenRegistry GLOBAL = new HyphenRegistry();
+	private final Map<Key, CompletableFuture<HyphenSerializer<?, ?>>> serializers = new ConcurrentHashMap<>();
+
+	/**
+	 * @return The registry shared by everything in the JVM.
+	 */
+	public static HyphenRegistry global() {
+		return GLOBAL;
+	}
+
+	/**
+	 * Returns the serializer this factory would build, building it only if no equal factory was built by this registry before.
+	 * If the build fails the exception is thrown to every waiting thread, and the next call tries again.
+	 */
+	@SuppressWarnings("unchecked")
+	public <IO extends IOInterface, D> HyphenSerializer<IO, D> get(SerializerFactory<IO, D> factory) {
+		Key key = factory.registryKey();
+		CompletableFuture<HyphenSerializer<?, ?>> future = this.serializers.get(key);
+		if (future == null) {
+			CompletableFuture<HyphenSerializer<?, ?>> created = new CompletableFuture<>();
+			future = this.serializers.putIfAbsent(key, created);
+			if (future == null) {
+				// Building happens outside the map, so other keys are never blocked by it.
+				try {
+					HyphenSerializer<IO, D> serializer = factory.build();
+					created.complete(serializer);
+					return serializer;
+				} catch (Throwable throwable) {
+					this.serializers.remove(key, created);
+					created.completeExceptionally(throwable);
+					throw throwable;
+				}
+			}
+		}
+
+		try {
+			return (HyphenSerializer<IO, D>) future.join();
+		} catch (CompletionException exception) {
+			if (exception.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			} else if (exception.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw exception;
+		}
+	}
+
+	/**
+	 * Forgets the serializer built for this factory, the next {@link #get} builds a new one.
+	 *
+	 * @return if there was a serializer to forget.
+	 */
+	public boolean remove(SerializerFactory<?, ?> factory) {
+		return this.serializers.remove(factory.registryKey()) != null;
+	}
+
+	public void clear() {
+		this.serializers.clear();
+	}
+
+	public int size() {
+		return this.serializers.size();
+	}
+
+	/**
+	 * Everything that changes the generated bytecode or where it can be defined. The export path and cache directory do not.
+	 */
+	record Key(Class<?> ioClass,
+			   Class<?> dataClass,
+			   String className,
+			   Map<Options, Boolean> options,
+			   Map<Class<?>, SerializerFactory.DynamicDefFactory> definitions,
+			   Map<Object, List<Annotation>> annotationProviders,
+			   @Nullable ClassLoader classLoader,
+			   @Nullable Class<?> lookupClass,
+			   boolean nestmate) {
+	}
+}
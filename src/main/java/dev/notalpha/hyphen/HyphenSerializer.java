@@ -1,5 +1,6 @@
 package dev.notalpha.hyphen;
 
+import dev.notalpha.hyphen.io.IOGrowableInterface;
 import dev.notalpha.hyphen.io.IOInterface;
 
 /**
@@ -14,4 +15,54 @@ public interface HyphenSerializer<IO extends IOInterface, D> {
 	void put(IO io, D data);
 
 	long measure(D data);
+
+	/**
+	 * Moves the IO past one encoded value without decoding it. Values of a fixed size are skipped at once,
+	 * lists, maps and strings by their length, and only what has a variable length itself gets read. <br>
+	 * If {@link Options#DISABLE_GET} is enabled this throws an {@link UnsupportedOperationException}
+	 *
+	 * @param io The IO positioned at the value
+	 */
+	void skip(IO io);
+
+	/**
+	 * Writes the data into a freshly created growable IO in a single pass, without a {@link #measure(Object)} call. <br>
+	 * This is only available if the IO class implements {@link IOGrowableInterface}, otherwise this throws an {@link UnsupportedOperationException}
+	 *
+	 * @param data The data to write
+	 * @return A new IO containing the data, positioned after the written bytes.
+	 */
+	default IO putGrowing(D data) {
+		throw new UnsupportedOperationException("putGrowing requires an IO implementing IOGrowableInterface");
+	}
+
+	/**
+	 * Decodes a single field of a class, starting at the current position of the IO. This is what {@link HyphenView} reads with. <br>
+	 * Only available with {@link Options#VIEWS}, otherwise this throws an {@link UnsupportedOperationException}
+	 *
+	 * @param view  The id of the class
+	 * @param field The index of the field in the class
+	 * @return The field value, primitives are boxed.
+	 */
+	default Object getViewField(IO io, int view, int field) {
+		throw new UnsupportedOperationException("getViewField requires Options.VIEWS");
+	}
+
+	/**
+	 * Moves the IO past a single field of a class, like {@link #getViewField} without returning it.
+	 */
+	default void skipViewField(IO io, int view, int field) {
+		throw new UnsupportedOperationException("skipViewField requires Options.VIEWS");
+	}
+
+	/**
+	 * Decodes a single element of a {@link dev.notalpha.hyphen.scan.annotations.DataIndexed} list or array field, starting at the field.
+	 * This is what {@link HyphenView#getElement(int, int)} reads with.
+	 *
+	 * @param index The index of the element
+	 * @return The element, which may be null if the elements are nullable.
+	 */
+	default Object getViewElement(IO io, int view, int field, int index) {
+		throw new UnsupportedOperationException("getViewElement requires Options.VIEWS");
+	}
 }
@@ -0,0 +1,230 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.IOInterface;
+import dev.notalpha.hyphen.io.IOSeekInterface;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads single fields of an encoded class without decoding the rest of it. Created by {@link HyphenViewer}. <br>
+ * The fields up to the first nullable or variable sized one are at fixed offsets. The offsets after that are found by skipping
+ * the fields in front of them the first time they are needed, and are kept for later accesses.
+ * <p>
+ * Accessing a field moves the position of the IO, and the encoded data must not change while the view is used.
+ *
+ * @param <IO> IO Class
+ */
+public final class HyphenView<IO extends IOInterface> {
+	private final HyphenSerializer<IO, ?> serializer;
+	private final Layout[] layouts;
+	private final Layout layout;
+	private final IO io;
+	private final int start;
+	// The offsets of the fields from the start, followed by the end. Only the first known ones are filled in.
+	private final int[] offsets;
+	private int known;
+	@Nullable
+	private byte[] packedBooleans;
+
+	HyphenView(HyphenSerializer<IO, ?> serializer, Layout[] layouts, int view, IO io, int start) {
+		this.serializer = serializer;
+		this.layouts = layouts;
+		this.layout = layouts[view];
+		this.io = io;
+		this.start = start;
+		this.offsets = new int[this.layout.names.length + 1];
+		System.arraycopy(this.layout.fixedOffsets, 0, this.offsets, 0, this.layout.fixedOffsets.length);
+		this.known = this.layout.fixedOffsets.length - 1;
+	}
+
+	/**
+	 * @return The index of the field, which is faster to access fields with than its name.
+	 * @throws IllegalArgumentException if the class has no such field.
+	 */
+	public int indexOf(String field) {
+		final Integer index = this.layout.indices.get(field);
+		if (index == null) {
+			throw new IllegalArgumentException("No serialized field named " + field);
+		}
+		return index;
+	}
+
+	/**
+	 * Decodes a field, primitives are boxed.
+	 */
+	@Nullable
+	public <T> T get(String field) {
+		return this.get(this.indexOf(field));
+	}
+
+	/**
+	 * Decodes the field at this index, primitives are boxed.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(int field) {
+		final int bit = this.layout.bits[field];
+		if (this.layout.compact[field]) {
+			return (T) Boolean.valueOf(this.getBit(bit));
+		}
+		if (bit != -1 && this.getBit(bit)) {
+			return null;
+		}
+
+		this.seek(this.start + this.offset(field));
+		return (T) this.serializer.getViewField(this.io, this.layout.view, field);
+	}
+
+	/**
+	 * Decodes a single element of a list or array annotated with {@link dev.notalpha.hyphen.scan.annotations.DataIndexed},
+	 * without decoding the elements in front of it.
+	 *
+	 * @return The element, or null if it or the field is null.
+	 * @throws IllegalArgumentException  if the field is not indexed.
+	 * @throws IndexOutOfBoundsException if there is no element at the index.
+	 */
+	@Nullable
+	public <T> T getElement(String field, int index) {
+		return this.getElement(this.indexOf(field), index);
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T getElement(int field, int index) {
+		if (!this.layout.indexed[field]) {
+			throw new IllegalArgumentException("Field " + this.layout.names[field] + " is not an indexed list or array");
+		}
+		final int bit = this.layout.bits[field];
+		if (bit != -1 && this.getBit(bit)) {
+			return null;
+		}
+
+		this.seek(this.start + this.offset(field));
+		return (T) this.serializer.getViewElement(this.io, this.layout.view, field, index);
+	}
+
+	/**
+	 * Creates a view into a field which holds a class, without decoding it.
+	 *
+	 * @return The view, or null if the field is null.
+	 * @throws IllegalArgumentException if the field does not hold a class.
+	 */
+	@Nullable
+	public HyphenView<IO> view(String field) {
+		return this.view(this.indexOf(field));
+	}
+
+	@Nullable
+	public HyphenView<IO> view(int field) {
+		final int view = this.layout.nested[field];
+		if (view == -1) {
+			throw new IllegalArgumentException("Field " + this.layout.names[field] + " does not hold a class with a view");
+		}
+		final int bit = this.layout.bits[field];
+		if (bit != -1 && this.getBit(bit)) {
+			return null;
+		}
+		return new HyphenView<>(this.serializer, this.layouts, view, this.io, this.start + this.offset(field));
+	}
+
+	/**
+	 * @return The position the encoded class starts at.
+	 */
+	public int start() {
+		return this.start;
+	}
+
+	/**
+	 * Finds where the encoded class ends, which is where the next value in the IO starts.
+	 */
+	public int end() {
+		return this.start + this.offset(this.layout.names.length);
+	}
+
+	private int offset(int field) {
+		while (this.known < field) {
+			final int i = this.known;
+			final int bit = this.layout.bits[i];
+			int size;
+			if (this.layout.compact[i] || (bit != -1 && this.getBit(bit))) {
+				size = 0;
+			} else if (this.layout.sizes[i] != -1) {
+				size = this.layout.sizes[i];
+			} else {
+				final int pos = this.start + this.offsets[i];
+				this.seek(pos);
+				this.serializer.skipViewField(this.io, this.layout.view, i);
+				size = this.io.pos() - pos;
+			}
+			this.offsets[i + 1] = this.offsets[i] + size;
+			this.known++;
+		}
+		return this.offsets[field];
+	}
+
+	private boolean getBit(int bit) {
+		byte[] packedBooleans = this.packedBooleans;
+		if (packedBooleans == null) {
+			this.seek(this.start);
+			packedBooleans = new byte[this.layout.packedBytes];
+			for (int i = 0; i < packedBooleans.length; i++) {
+				packedBooleans[i] = this.io.getByte();
+			}
+			this.packedBooleans = packedBooleans;
+		}
+		// The bytes are written from the last group of 8 booleans to the first.
+		return ((packedBooleans[packedBooleans.length - 1 - (bit >> 3)] >>> (bit & 7)) & 1) != 0;
+	}
+
+	private void seek(int pos) {
+		((IOSeekInterface) this.io).seek(pos);
+	}
+
+	/**
+	 * Where the fields of a class are, see {@link SerializerGenerator#buildViewer()}.
+	 */
+	static final class Layout {
+		final int view;
+		final String[] names;
+		final Map<String, Integer> indices = new HashMap<>();
+		// The index of the bit of nullable fields and compacted booleans, -1 for others. Nullable fields set it when they are null.
+		final int[] bits;
+		final boolean[] compact;
+		// The encoded size of the fields, -1 if it is variable.
+		final int[] sizes;
+		// The view id of fields holding a class, -1 for others.
+		final int[] nested;
+		// If fields are lists or arrays annotated with DataIndexed.
+		final boolean[] indexed;
+		final int packedBytes;
+		// The offsets of the fields in front of the first nullable or variable sized one, and of that field.
+		final int[] fixedOffsets;
+
+		Layout(int view, String[] names, int[] bits, boolean[] compact, int[] sizes, int[] nested, boolean[] indexed, int packedBytes) {
+			this.view = view;
+			this.names = names;
+			this.bits = bits;
+			this.compact = compact;
+			this.sizes = sizes;
+			this.nested = nested;
+			this.indexed = indexed;
+			this.packedBytes = packedBytes;
+			for (int i = 0; i < names.length; i++) {
+				this.indices.put(names[i], i);
+			}
+
+			int fixed = 0;
+			long offset = packedBytes;
+			final int[] offsets = new int[names.length + 1];
+			offsets[0] = packedBytes;
+			while (fixed < names.length && (compact[fixed] || (bits[fixed] == -1 && sizes[fixed] != -1)) && offset + sizes[fixed] <= Integer.MAX_VALUE) {
+				offset += compact[fixed] ? 0 : sizes[fixed];
+				offsets[++fixed] = (int) offset;
+			}
+			this.fixedOffsets = Arrays.copyOf(offsets, fixed + 1);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.IOInterface;
+
+/**
+ * Creates {@link HyphenView views} into data written by its serializer. Made by {@link SerializerFactory#buildViewer()}.
+ *
+ * @param <IO> IO Class
+ * @param <D>  Data Class
+ */
+public final class HyphenViewer<IO extends IOInterface, D> {
+	private final HyphenSerializer<IO, D> serializer;
+	private final HyphenView.Layout[] layouts;
+	private final int root;
+
+	HyphenViewer(HyphenSerializer<IO, D> serializer, HyphenView.Layout[] layouts, int root) {
+		this.serializer = serializer;
+		this.layouts = layouts;
+		this.root = root;
+	}
+
+	/**
+	 * @return The serializer, which writes and reads the data as usual.
+	 */
+	public HyphenSerializer<IO, D> serializer() {
+		return this.serializer;
+	}
+
+	/**
+	 * Creates a view into the data at the current position of the IO. Nothing is read until a field is accessed.
+	 */
+	public HyphenView<IO> view(IO io) {
+		return this.view(io, io.pos());
+	}
+
+	/**
+	 * Creates a view into the data at a position of the IO. Nothing is read until a field is accessed.
+	 */
+	public HyphenView<IO> view(IO io, int pos) {
+		return new HyphenView<>(this.serializer, this.layouts, this.root, io, pos);
+	}
+}
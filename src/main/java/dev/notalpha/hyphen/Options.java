@@ -36,7 +36,47 @@ public enum Options {
 	 * Use a much faster allocation method for a serializer. <br>
 	 * Might bring issues if someone is messing with internals.
 	 */
-	FAST_ALLOC(true);
+	FAST_ALLOC(true),
+
+	/**
+	 * Defines the serializer as a hidden class instead of in a new class loader. <br>
+	 * It gets defined in the package of the lookup given to {@link SerializerFactory#setLookup}, which is required,
+	 * and is unloaded once the serializer is unreachable. {@link #FAST_ALLOC} is not needed for it.
+	 */
+	HIDDEN_CLASS(false),
+
+	/**
+	 * Keeps the IO position in a local variable and inlines primitive reads and writes into the generated methods. <br>
+	 * Only affects {@link dev.notalpha.hyphen.io.ArrayIO}, {@link dev.notalpha.hyphen.io.ByteBufferIO} and {@link dev.notalpha.hyphen.io.UnsafeIO}.
+	 * On an ArrayIO runs of fixed size fields are bounds checked once up front, so the JIT can drop the checks of the single accesses.
+	 */
+	INLINE_IO(false),
+
+	/**
+	 * Writes every int, long and length as a variable length integer, which takes a single byte for values below 128. <br>
+	 * Signed values are zigzag encoded first. Single fields can opt in with {@link dev.notalpha.hyphen.scan.annotations.DataVarInt} instead.
+	 */
+	VAR_INTS(false),
+
+	/**
+	 * Writes the size of sets and maps after their entries, counting the entries that were actually written instead of calling {@code size()}. <br>
+	 * This keeps the output consistent for collections that change while being written, and skips {@code size()} on collections where it is not constant time.
+	 * Only affects IOs implementing {@link dev.notalpha.hyphen.io.IOPatchInterface}, and lengths that are not variable length integers.
+	 */
+	PATCHED_LENGTHS(false),
+
+	/**
+	 * Generates methods that decode or skip a single field of a class, which {@link HyphenView} reads with. <br>
+	 * Enabled by {@link SerializerFactory#buildViewer()}, the encoding stays the same.
+	 */
+	VIEWS(false),
+
+	/**
+	 * Uses a serializer class generated ahead of time by {@link Pregenerator} when one with the same class name is on the classpath. <br>
+	 * The class is only used if its structure fingerprint matches, otherwise the serializer is generated as usual.
+	 * Factories keeping the default class name never look for one.
+	 */
+	PREGENERATED(false);
 
 	public final boolean defaultValue;
 
@@ -0,0 +1,64 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.thr.HyphenException;
+
+import java.nio.file.Path;
+import java.util.ServiceLoader;
+
+/**
+ * Generates serializers at build time, so {@link SerializerFactory#build()} loads them instead of generating them on startup. <br>
+ * The factories come from every {@link SerializerProvider} on the classpath. The serializers are written as class files into the given directory,
+ * which should end up on the runtime classpath. With Gradle this can be run after compiling:
+ * <pre>{@code
+ * tasks.register("pregenerateSerializers", JavaExec) {
+ *     dependsOn classes
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     mainClass = "dev.notalpha.hyphen.Pregenerator"
+ *     args sourceSets.main.java.destinationDirectory.get().asFile
+ * }
+ * jar.dependsOn pregenerateSerializers
+ * }</pre>
+ * At runtime the factories need {@link Options#PREGENERATED} enabled and the same class name.
+ * A pregenerated serializer is only used while its structure fingerprint still matches, so a stale one is regenerated at runtime instead of breaking.
+ */
+public final class Pregenerator {
+	private Pregenerator() {
+	}
+
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			System.err.println("Usage: Pregenerator <output directory>");
+			System.exit(1);
+		}
+
+		final Path output = Path.of(args[0]);
+		int count = 0;
+		for (SerializerProvider provider : ServiceLoader.load(SerializerProvider.class)) {
+			for (SerializerFactory<?, ?> factory : provider.factories()) {
+				export(factory, output);
+				count++;
+			}
+		}
+		System.out.println("Pregenerated " + count + " serializers into " + output);
+	}
+
+	/**
+	 * Generates the serializer of a factory and writes it into a directory, following the package of its class name.
+	 *
+	 * @param factory   The factory, which gets {@link Options#PREGENERATED} disabled and its export path changed.
+	 * @param directory The root of the class output.
+	 * @return The class file that was written.
+	 */
+	public static Path export(SerializerFactory<?, ?> factory, Path directory) {
+		final String className = factory.getClassName();
+		if (className.equals(SerializerFactory.DEFAULT_CLASS_NAME)) {
+			throw new HyphenException("Pregenerated serializer for " + factory.dataClass.getName() + " uses the default class name.", "Give every factory a unique class name with setClassName.");
+		}
+
+		final Path path = directory.resolve(className.replace('.', '/') + ".class");
+		factory.setOption(Options.PREGENERATED, false);
+		factory.setExportPath(path);
+		factory.build();
+		return path;
+	}
+}
@@ -2,15 +2,19 @@ package dev.notalpha.hyphen;
 
 import dev.notalpha.hyphen.codegen.def.*;
 import dev.notalpha.hyphen.io.IOInterface;
+import dev.notalpha.hyphen.io.IOSeekInterface;
 import dev.notalpha.hyphen.scan.annotations.DataGlobalAnnotation;
 import dev.notalpha.hyphen.scan.struct.ClassStruct;
 import dev.notalpha.hyphen.scan.struct.Struct;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
 import java.nio.*;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
 
 /**
  * The Factory where you create a {@link HyphenSerializer} <br>
@@ -22,6 +26,7 @@ import java.util.function.Function;
  * @param <D>  Data Class
  */
 public class SerializerFactory<IO extends IOInterface, D> {
+	static final String DEFAULT_CLASS_NAME = "HyphenSerializer";
 	public final Class<IO> ioClass;
 	public final Class<D> dataClass;
 	private final EnumMap<Options, Boolean> options;
@@ -29,8 +34,11 @@ public class SerializerFactory<IO extends IOInterface, D> {
 	private final Map<Object, List<Annotation>> annotationProviders = new HashMap<>();
 
 	private ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-	private String className = "HyphenSerializer";
+	private String className = DEFAULT_CLASS_NAME;
 	private Path exportPath = null;
+	private Path cacheDir = null;
+	private MethodHandles.Lookup lookup = null;
+	private boolean nestmate = false;
 
 	private SerializerFactory(Class<IO> ioClass, Class<D> dataClass, boolean debug) {
 		this.ioClass = ioClass;
@@ -102,12 +110,30 @@ public class SerializerFactory<IO extends IOInterface, D> {
 	}
 
 	/**
-	 * Sets the class name of the output {@link HyphenSerializer}
+	 * Defines the serializer as a hidden class in the package of the lookup class and enables {@link Options#HIDDEN_CLASS}. <br>
+	 * The lookup needs full privilege access, so pass {@code MethodHandles.lookup()} from a class that can see the data classes.
+	 *
+	 * @param lookup   The lookup to define the serializer with
+	 * @param nestmate If the serializer should join the nest of the lookup class, which lets it access its private members.
+	 */
+	public void setLookup(MethodHandles.Lookup lookup, boolean nestmate) {
+		this.lookup = lookup;
+		this.nestmate = nestmate;
+		this.options.put(Options.HIDDEN_CLASS, true);
+	}
+
+	/**
+	 * Sets the class name of the output {@link HyphenSerializer} <br>
+	 * Use a fully qualified name like {@code com.example.PlayerSerializer} for serializers generated by {@link Pregenerator}.
 	 */
 	public void setClassName(String className) {
 		this.className = className;
 	}
 
+	public String getClassName() {
+		return className;
+	}
+
 	/**
 	 * Sets the FILE location of the serializer. This will export the {@link HyphenSerializer} bytecode into the file. <br>
 	 * <br>
@@ -125,7 +151,16 @@ public class SerializerFactory<IO extends IOInterface, D> {
 	 * @see SerializerFactory#setExportPath
 	 */
 	public void setExportDir(Path path) {
-		this.setExportPath(path.resolve(this.className + ".class"));
+		this.setExportPath(path.resolve(this.className.replace('.', '/') + ".class"));
+	}
+
+	/**
+	 * Sets a directory where generated serializers are cached between runs. <br>
+	 * The files are named after the structure fingerprint, so a serializer is only reused while the data classes, options and definitions stay the same.
+	 * A hit skips all bytecode generation, but the data class still gets scanned to compute the fingerprint.
+	 */
+	public void setCacheDir(Path cacheDir) {
+		this.cacheDir = cacheDir;
 	}
 
 	// ====================================== DEFINITIONS =====================================
@@ -137,8 +172,8 @@ public class SerializerFactory<IO extends IOInterface, D> {
 	 * @param def    The Serializer Definition
 	 * @see SerializerFactory#addDynamicDef(Class, DynamicDefFactory)
 	 */
-	public void addStaticDef(Class<?> target, SerializerDef def) {
-		this.definitions.put(target, (clazz) -> def);
+	public void addStaticDef(Class<?> target, SerializerDef<?> def) {
+		this.definitions.put(target, new StaticDefFactory(def));
 	}
 
 	/**
@@ -181,14 +216,127 @@ public class SerializerFactory<IO extends IOInterface, D> {
 	}
 
 	/**
-	 * Builds a {@link HyphenSerializer}. Any options that are set at this point will be applied to the final {@link HyphenSerializer}
+	 * Builds a {@link HyphenSerializer}. Any options that are set at this point will be applied to the final {@link HyphenSerializer} <br>
+	 * This may be called from several threads at once, as long as the factory is not changed while doing so.
 	 *
 	 * @return A Serializer Powered by Hyphen.
 	 */
 	public HyphenSerializer<IO, D> build() {
-		return new SerializerGenerator<>(ioClass, dataClass, className, exportPath, classLoader, options, definitions, annotationProviders).build();
+		return this.generator().build();
+	}
+
+	/**
+	 * Builds a serializer whose {@link HyphenSerializer#get} only decodes the selected fields, the others are skipped and left at null, 0 or false. <br>
+	 * A path is a field name, and fields of nested classes are selected by joining their names with dots like {@code "header.id"}.
+	 * The data class and every class a path goes through have to be classes. Writing, measuring and skipping are unchanged.
+	 *
+	 * @param fieldPaths The fields to decode
+	 */
+	public HyphenSerializer<IO, D> buildProjection(String... fieldPaths) {
+		var generator = this.generator();
+		generator.setProjection(fieldPaths);
+		return generator.build();
+	}
+
+	/**
+	 * Builds the serializer with {@link Options#VIEWS} enabled, along with a {@link HyphenViewer} which reads single fields out of the data it writes. <br>
+	 * The IO class has to implement {@link IOSeekInterface}, and the data class has to be a class with fields.
+	 */
+	public HyphenViewer<IO, D> buildViewer() {
+		EnumMap<Options, Boolean> options = new EnumMap<>(this.options);
+		options.put(Options.VIEWS, true);
+		return new SerializerGenerator<>(ioClass, dataClass, className, exportPath, cacheDir, classLoader, lookup, nestmate, options, definitions, annotationProviders).buildViewer();
+	}
+
+	SerializerGenerator<IO, D> generator() {
+		return new SerializerGenerator<>(ioClass, dataClass, className, exportPath, cacheDir, classLoader, lookup, nestmate, options, definitions, annotationProviders);
+	}
+
+	/**
+	 * Returns the serializer from {@link HyphenRegistry#global()}, building it only if no equal factory was built before.
+	 *
+	 * @see HyphenRegistry#get(SerializerFactory)
+	 */
+	public HyphenSerializer<IO, D> buildShared() {
+		return HyphenRegistry.global().get(this);
+	}
+
+	HyphenRegistry.Key registryKey() {
+		Map<Object, List<Annotation>> annotationProviders = new HashMap<>();
+		this.annotationProviders.forEach((id, annotations) -> annotationProviders.put(id, List.copyOf(annotations)));
+		return new HyphenRegistry.Key(
+				ioClass,
+				dataClass,
+				className,
+				Map.copyOf(options),
+				Map.copyOf(definitions),
+				Map.copyOf(annotationProviders),
+				classLoader,
+				lookup == null ? null : lookup.lookupClass(),
+				nestmate
+		);
+	}
+
+	/**
+	 * Builds many factories at once on the common {@link ForkJoinPool}.
+	 *
+	 * @see SerializerFactory#buildAll(Collection, ForkJoinPool)
+	 */
+	public static List<HyphenSerializer<?, ?>> buildAll(Collection<? extends SerializerFactory<?, ?>> factories) {
+		return buildAll(factories, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Builds many factories at once, spreading the scanning and bytecode generation over the threads of the pool. <br>
+	 * Factories which share a definition added with {@link SerializerFactory#addStaticDef} are built one after another, so it is never scanned from several threads.
+	 *
+	 * @param factories The factories to build
+	 * @param pool      The pool that builds them
+	 * @return The serializers in the same order as the factories.
+	 */
+	public static List<HyphenSerializer<?, ?>> buildAll(Collection<? extends SerializerFactory<?, ?>> factories, ForkJoinPool pool) {
+		final List<? extends SerializerFactory<?, ?>> list = List.copyOf(factories);
+		final List<Set<SerializerDef<?>>> staticDefs = new ArrayList<>(list.size());
+		final Map<SerializerDef<?>, Integer> staticDefUses = new IdentityHashMap<>();
+		for (SerializerFactory<?, ?> factory : list) {
+			final Set<SerializerDef<?>> defs = staticDefs(factory);
+			defs.forEach(def -> staticDefUses.merge(def, 1, Integer::sum));
+			staticDefs.add(defs);
+		}
+
+		final boolean[] serial = new boolean[list.size()];
+		for (int i = 0; i < serial.length; i++) {
+			for (SerializerDef<?> def : staticDefs.get(i)) {
+				serial[i] |= staticDefUses.get(def) > 1;
+			}
+		}
+
+		final HyphenSerializer<?, ?>[] serializers = new HyphenSerializer[list.size()];
+		final ForkJoinTask<?> serialTask = pool.submit(() -> {
+			for (int i = 0; i < serial.length; i++) {
+				if (serial[i]) {
+					serializers[i] = list.get(i).build();
+				}
+			}
+		});
+		final ForkJoinTask<?> parallelTask = pool.submit(() -> IntStream.range(0, serial.length).parallel()
+				.filter(i -> !serial[i])
+				.forEach(i -> serializers[i] = list.get(i).build()));
+		parallelTask.join();
+		serialTask.join();
+		return Arrays.asList(serializers);
 	}
 
+	// The definitions added with addStaticDef, without duplicates.
+	private static Set<SerializerDef<?>> staticDefs(SerializerFactory<?, ?> serializerFactory) {
+		final Set<SerializerDef<?>> defs = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (DynamicDefFactory factory : serializerFactory.definitions.values()) {
+			if (factory instanceof StaticDefFactory staticDef) {
+				defs.add(staticDef.def());
+			}
+		}
+		return defs;
+	}
 
 	/**
 	 * This is a Dynamic Definition Factory that will create a Definition dependent on the Field itself.
@@ -204,27 +352,29 @@ public class SerializerFactory<IO extends IOInterface, D> {
 		SerializerDef<?> create(Struct struct);
 	}
 
+	// A record, so factories that add the same static definition still share a registry entry.
+	private record StaticDefFactory(SerializerDef<?> def) implements DynamicDefFactory {
+		@Override
+		public SerializerDef<?> create(Struct struct) {
+			return def;
+		}
+	}
+
 	private static final Map<Class<?>, DynamicDefFactory> BUILD_IN_DEFINITIONS = new HashMap<>();
 	static {
 
-		addStaticDef(PrimitiveIODef::new,
+		addDynamicDef(PrimitiveIODef::new,
 				boolean.class, byte.class, short.class, char.class, int.class, float.class, long.class, double.class);
 		addDynamicDef(PrimitiveArrayIODef::new,
 				boolean[].class, byte[].class, short[].class, char[].class, int[].class, float[].class, long[].class, double[].class);
 		addDynamicDef(BufferDef::new, ByteBuffer.class, ShortBuffer.class, CharBuffer.class, IntBuffer.class, FloatBuffer.class, LongBuffer.class, DoubleBuffer.class);
-		addStaticDef(BoxedIODef::new, Boolean.class, Byte.class, Short.class, Character.class, Integer.class, Float.class, Long.class, Double.class);
-		BUILD_IN_DEFINITIONS.put(String.class, (c) -> new StringIODef());
+		addDynamicDef(BoxedIODef::new, Boolean.class, Byte.class, Short.class, Character.class, Integer.class, Float.class, Long.class, Double.class);
+		BUILD_IN_DEFINITIONS.put(String.class, StringIODef::new);
 		BUILD_IN_DEFINITIONS.put(List.class, ListDef::new);
 		BUILD_IN_DEFINITIONS.put(Map.class, MapDef::new);
 		BUILD_IN_DEFINITIONS.put(Set.class, SetDef::new);
 	}
 
-	private static void addStaticDef(Function<Class<?>, SerializerDef<?>> creator, Class<?>... clazz) {
-		for (Class<?> aClass : clazz) {
-			BUILD_IN_DEFINITIONS.put(aClass, (sh) -> creator.apply(aClass));
-		}
-	}
-
 	private static void addDynamicDef(DynamicDefFactory creator, Class<?>... clazz) {
 		for (Class<?> aClass : clazz) {
 			BUILD_IN_DEFINITIONS.put(aClass, creator);
@@ -3,7 +3,9 @@ package dev.notalpha.hyphen;
 import dev.notalpha.hyphen.codegen.MethodInfo;
 import dev.notalpha.hyphen.codegen.MethodWriter;
 import dev.notalpha.hyphen.codegen.def.*;
+import dev.notalpha.hyphen.io.IOGrowableInterface;
 import dev.notalpha.hyphen.io.IOInterface;
+import dev.notalpha.hyphen.io.IOSeekInterface;
 import dev.notalpha.hyphen.scan.StructScanner;
 import dev.notalpha.hyphen.scan.annotations.DataSubclasses;
 import dev.notalpha.hyphen.scan.struct.ArrayStruct;
@@ -16,19 +18,30 @@ import dev.notalpha.hyphen.util.GenUtil;
 import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.MethodNode;
 import org.objectweb.asm.util.CheckClassAdapter;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.objectweb.asm.Opcodes.*;
 
@@ -39,35 +52,81 @@ import static org.objectweb.asm.Opcodes.*;
  * @param <D>  Data Class
  */
 public class SerializerGenerator<IO extends IOInterface, D> {
+	/**
+	 * The name of the constant holding the structure fingerprint in every generated serializer.
+	 */
+	public static final String FINGERPRINT_FIELD = "FINGERPRINT";
+	// Bump this whenever the generated code changes, so stale pregenerated serializers are not picked up.
+	private static final int GENERATOR_VERSION = 2;
+	/**
+	 * The amount of method definitions from which their methods get generated in parallel.
+	 * Below this, splitting up the work costs more than it saves.
+	 */
+	private static final int PARALLEL_METHOD_THRESHOLD = 32;
+
 	public final Class<IO> ioClass;
 	public final Class<D> dataClass;
 	public final String className;
 	public final Path exportPath;
+	@Nullable
+	public final Path cacheDir;
 	public final Map<Class<?>, SerializerFactory.DynamicDefFactory> definitions;
 	private final EnumMap<Options, Boolean> options;
 	public final StructScanner scanner;
 	private final Map<Struct, SerializerDef> scanDeduplicationMap = new HashMap<>();
 	private final Map<Struct, MethodDef> methods = new HashMap<>();
+	// Classes with view methods, indexed by their view id.
+	private final List<ClassDef> views = new ArrayList<>();
+	// The fields get decodes, null to decode everything.
+	@Nullable
+	private Projection projection;
+	private int parallelThreshold = PARALLEL_METHOD_THRESHOLD;
+	// How many definitions are in the middle of scanning.
+	private int scanning = 0;
+	// Methods are generated into their own nodes, so they can be written from several threads and merged afterwards.
+	private final Queue<MethodNode> methodNodes = new ConcurrentLinkedQueue<>();
 	@Nullable
 	private final Map<List<Class<?>>, AtomicInteger> methodDeduplication;
 	private final ClassWriter cw;
 	private final ClassLoader classLoader;
+	// The lookup the serializer gets defined in as a hidden class, null when it gets its own ClassDefiner.
+	@Nullable
+	private final MethodHandles.Lookup lookup;
+	private final boolean nestmate;
 
 	public SerializerGenerator(
 			Class<IO> ioClass,
 			Class<D> dataClass,
 			String className,
 			Path exportPath,
+			@Nullable Path cacheDir,
 			ClassLoader classLoader,
+			@Nullable MethodHandles.Lookup lookup,
+			boolean nestmate,
 			EnumMap<Options, Boolean> options,
 			Map<Class<?>, SerializerFactory.DynamicDefFactory> definitions,
 			Map<Object, List<Annotation>> annotationProviders) {
 		this.ioClass = ioClass;
 		this.dataClass = dataClass;
-		this.className = className;
 		this.exportPath = exportPath;
+		this.cacheDir = cacheDir;
 		this.classLoader = classLoader;
 		this.options = options;
+		if (options.get(Options.HIDDEN_CLASS)) {
+			// Hyphen's own lookup would put the serializer in Hyphen's loader, where it cannot link against data classes of child loaders.
+			if (lookup == null) {
+				throw new HyphenException("Hidden classes need a lookup to be defined with.", "Pass MethodHandles.lookup() from a class that can see the data classes to SerializerFactory.setLookup, which enables HIDDEN_CLASS as well.");
+			}
+			this.lookup = lookup;
+			this.nestmate = nestmate;
+			// Hidden classes have to be in the package of the lookup class.
+			final String lookupClass = GenUtil.internal(this.lookup.lookupClass());
+			this.className = lookupClass.substring(0, lookupClass.lastIndexOf('/') + 1) + className.substring(className.lastIndexOf('.') + 1);
+		} else {
+			this.lookup = null;
+			this.nestmate = false;
+			this.className = className.replace('.', '/');
+		}
 		this.definitions = definitions;
 		this.scanner = new StructScanner(annotationProviders);
 
@@ -81,12 +140,14 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 			mh.op(RETURN);
 		}
 
-		if (options.get(Options.FAST_ALLOC)) {
+		// Hidden classes hand out their instance through their own lookup instead.
+		if (options.get(Options.FAST_ALLOC) && this.lookup == null) {
 			try (var mh = new MethodWriter(this.cw.visitMethod(ACC_STATIC, "<clinit>", GenUtil.methodDesc(Void.TYPE), null, null), this.className, dataClass, ioClass)) {
+				mh.visitLdcInsn(Type.getObjectType(this.className));
 				mh.visitTypeInsn(NEW, this.className);
 				mh.op(DUP);
 				mh.visitMethodInsn(INVOKESPECIAL, this.className, "<init>", GenUtil.methodDesc(Void.TYPE), false);
-				mh.visitFieldInsn(PUTSTATIC, ClassDefiner.class, "SERIALIZER", HyphenSerializer.class);
+				mh.callInst(INVOKESTATIC, ClassDefiner.class, "publish", Void.TYPE, Class.class, HyphenSerializer.class);
 				mh.op(RETURN);
 			}
 		}
@@ -137,7 +198,12 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 			if (def instanceof MethodDef<?> methodDef) {
 				methods.put(struct, methodDef);
 			}
-			def.scan(this);
+			this.scanning++;
+			try {
+				def.scan(this);
+			} finally {
+				this.scanning--;
+			}
 		} catch (Throwable throwable) {
 			throw HyphenException.rethrow(struct, "scanning", throwable);
 		}
@@ -161,11 +227,18 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 
 	public void generateMethod(Struct struct, MethodInfo methodInfo, boolean synthetic, Consumer<MethodWriter> writer) {
 		final Class<?>[] parameters = methodInfo.parameters;
-		try (var mh = new MethodWriter(cw, methodInfo, className, dataClass, ioClass, options.get(Options.SHORT_VARIABLE_NAMES), synthetic)) {
+		final MethodNode node = new MethodNode(ACC_PUBLIC | ACC_FINAL | ACC_STATIC | (synthetic ? ACC_SYNTHETIC : 0),
+				methodInfo.name,
+				GenUtil.methodDesc(methodInfo.returnClass, parameters),
+				null, null);
+		try (var mh = new MethodWriter(node, className, dataClass, ioClass, options.get(Options.SHORT_VARIABLE_NAMES))) {
 			for (int i = 0; i < parameters.length; i++) {
 				mh.addVar(MethodWriter.getParamName(i), parameters[i]);
 			}
 			mh.visitCode();
+			if (options.get(Options.INLINE_IO) && parameters.length > 0 && parameters[0] == ioClass) {
+				mh.enableCursor();
+			}
 			try {
 				writer.accept(mh);
 			} catch (Throwable thr) {
@@ -176,12 +249,134 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 		} catch (Throwable throwable) {
 			throw HyphenException.rethrow(struct, "hyphenMethod " + methodInfo.name, throwable);
 		}
+		methodNodes.add(node);
+	}
+
+	/**
+	 * While scanning, definitions further up may not know all of their children yet.
+	 * Anything derived from them should only be cached once this returns false.
+	 */
+	public boolean isScanning() {
+		return this.scanning > 0;
 	}
 
 	public boolean isEnabled(Options option) {
 		return this.options.get(option);
 	}
 
+	/**
+	 * Overrides the amount of method definitions from which their methods get generated in parallel, so tests can force either path.
+	 */
+	void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Makes get only decode these fields, see {@link SerializerFactory#buildProjection(String...)}. Has to be called before {@link #build()}.
+	 *
+	 * @param fieldPaths Field names, with the fields of nested classes separated by dots.
+	 */
+	public void setProjection(String... fieldPaths) {
+		final Projection projection = new Projection();
+		for (String path : fieldPaths) {
+			Projection node = projection;
+			for (String name : path.split("\\.", -1)) {
+				if (name.isEmpty()) {
+					throw new HyphenException("Field path \"" + path + "\" has an empty name.", "Separate field names with a single dot.");
+				}
+				node = node.fields.computeIfAbsent(name, n -> new Projection());
+				if (node.whole) {
+					break;
+				}
+			}
+			// Selecting a field includes everything in it.
+			node.whole = true;
+			node.fields.clear();
+		}
+		this.projection = projection;
+	}
+
+	/**
+	 * Generates a get method for a class which decodes only the fields in the projection.
+	 */
+	private MethodInfo generateProjection(ClassDef def, Projection projection, AtomicInteger counter) {
+		final Map<String, MethodInfo> selected = new HashMap<>();
+		projection.fields.forEach((name, child) -> {
+			final ClassDef.ClassField field = def.getFields().stream()
+					.filter(f -> f.fieldEntry().field.getName().equals(name))
+					.findFirst()
+					.orElseThrow(() -> new HyphenException("Projected field \"" + name + "\" is not serialized by " + def.struct, "Check the spelling and that the field is not transient."));
+
+			MethodInfo nested = null;
+			if (!child.whole) {
+				if (!(field.def() instanceof ClassDef classDef)) {
+					throw new HyphenException("Projection goes into \"" + name + "\" which is not a class.", "Select the whole field instead.");
+				}
+				nested = this.generateProjection(classDef, child, counter);
+			}
+			selected.put(name, nested);
+		});
+
+		final MethodInfo info = this.createMethodInfo(def.struct, "project", String.valueOf(counter.getAndIncrement()), def.struct.getValueClass(), this.ioClass);
+		this.generateMethod(def.struct, info, false, mh -> def.writeProjectedGet(mh, selected));
+		return info;
+	}
+
+	/**
+	 * Registers a class which generates view methods.
+	 *
+	 * @return The id the view sparks dispatch to it with.
+	 */
+	public int addView(ClassDef def) {
+		this.views.add(def);
+		return this.views.size() - 1;
+	}
+
+	/**
+	 * Builds the serializer along with the layouts {@link HyphenView} needs to find fields in the encoded data.
+	 */
+	public HyphenViewer<IO, D> buildViewer() {
+		if (!IOSeekInterface.class.isAssignableFrom(this.ioClass)) {
+			throw new HyphenException("Views have to move around in the IO, which " + this.ioClass.getSimpleName() + " can not do.", "Use an IO implementing IOSeekInterface, like ArrayIO or ByteBufferIO.");
+		}
+		if (!this.options.get(Options.VIEWS) || this.options.get(Options.DISABLE_GET)) {
+			throw new HyphenException("Views need the view and get methods.", "Enable Options.VIEWS and do not disable get.");
+		}
+
+		final HyphenSerializer<IO, D> serializer = this.build();
+		if (!(this.acquireDef(new ClassStruct(this.dataClass)) instanceof ClassDef root)) {
+			throw new HyphenException("Views can only be created for classes, not for " + this.dataClass.getSimpleName(), "Wrap it in a class.");
+		}
+
+		final HyphenView.Layout[] layouts = new HyphenView.Layout[this.views.size()];
+		for (int i = 0; i < layouts.length; i++) {
+			layouts[i] = this.viewLayout(this.views.get(i));
+		}
+		return new HyphenViewer<>(serializer, layouts, root.getViewId());
+	}
+
+	private HyphenView.Layout viewLayout(ClassDef def) {
+		final List<ClassDef.ClassField> fields = def.getFields();
+		final String[] names = new String[fields.size()];
+		final int[] bits = new int[fields.size()];
+		final boolean[] compact = new boolean[fields.size()];
+		final int[] sizes = new int[fields.size()];
+		final int[] nested = new int[fields.size()];
+		final boolean[] indexed = new boolean[fields.size()];
+		int booleans = 0;
+		for (int i = 0; i < fields.size(); i++) {
+			final ClassDef.ClassField field = fields.get(i);
+			final SerializerDef<?> fieldDef = field.def();
+			names[i] = field.fieldEntry().field.getName();
+			compact[i] = def.isCompactBoolean(field);
+			bits[i] = field.isNullable() || compact[i] ? booleans++ : -1;
+			sizes[i] = fieldDef.hasDynamicSize() || fieldDef.getStaticSize() > Integer.MAX_VALUE ? -1 : (int) fieldDef.getStaticSize();
+			nested[i] = fieldDef instanceof ClassDef classDef ? classDef.getViewId() : -1;
+			indexed[i] = fieldDef instanceof IndexedDef<?> indexedDef && indexedDef.isIndexed();
+		}
+		return new HyphenView.Layout(def.getViewId(), names, bits, compact, sizes, nested, indexed, (booleans + 7) >> 3);
+	}
+
 	public HyphenSerializer<IO, D> build() {
 		try {
 			final Struct clazz = new ClassStruct(this.dataClass);
@@ -200,6 +395,22 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 				}
 			});
 
+			final String fingerprint = this.fingerprint();
+			// Every factory shares the default name, so nothing can have been pregenerated under it.
+			if (this.options.get(Options.PREGENERATED) && !this.className.equals(SerializerFactory.DEFAULT_CLASS_NAME)) {
+				final HyphenSerializer<IO, D> pregenerated = this.loadPregenerated(fingerprint);
+				if (pregenerated != null) {
+					return pregenerated;
+				}
+			}
+			if (this.cacheDir != null) {
+				final HyphenSerializer<IO, D> cached = this.loadCached(fingerprint);
+				if (cached != null) {
+					return cached;
+				}
+			}
+			this.cw.visitField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, FINGERPRINT_FIELD, GenUtil.desc(String.class), null, fingerprint).visitEnd();
+
 			Consumer<MethodVisitor> throwException = (visitor) -> {
 				String exception = Type.getInternalName(UnsupportedOperationException.class);
 				visitor.visitTypeInsn(NEW, exception);
@@ -211,10 +422,18 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 			};
 
 
+			MethodInfo getInfo = methodDef.getInfo();
+			if (this.projection != null) {
+				if (this.options.get(Options.DISABLE_GET) || !(methodDef instanceof ClassDef classDef)) {
+					throw new HyphenException("Projections need a class and its get methods.", "Do not disable get and project a class.");
+				}
+				getInfo = this.generateProjection(classDef, this.projection, new AtomicInteger());
+			}
+
 			// Create sparks
 			this.generateSpark(
 					new MethodInfo("get", Object.class, IOInterface.class),
-					methodDef.getInfo(),
+					getInfo,
 					(visitor) -> {
 					},
 					throwException
@@ -245,13 +464,52 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 					}
 			);
 
+			this.generateSpark(
+					new MethodInfo("skip", Void.TYPE, IOInterface.class),
+					methodDef.skipInfo(),
+					(visitor) -> {},
+					(visitor) -> {
+						if (this.options.get(Options.DISABLE_GET)) {
+							throwException.accept(visitor);
+						} else {
+							// Like measure, there is no skip method for a fixed size.
+							visitor.visitVarInsn(ALOAD, 1);
+							visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(this.ioClass));
+							visitor.visitLdcInsn(Math.toIntExact(staticSize));
+							visitor.visitMethodInsn(this.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, Type.getInternalName(this.ioClass), "skip", GenUtil.methodDesc(Void.TYPE, int.class), this.ioClass.isInterface());
+							visitor.visitInsn(RETURN);
+						}
+					}
+			);
+
+			if (IOGrowableInterface.class.isAssignableFrom(this.ioClass) && !this.options.get(Options.DISABLE_PUT)) {
+				this.generatePutGrowing(methodDef.putInfo());
+			}
+
+			if (!this.views.isEmpty()) {
+				this.generateViewSpark("getViewField", Object.class, ClassDef::viewGetInfo, IOInterface.class, int.class, int.class);
+				this.generateViewSpark("skipViewField", Void.TYPE, ClassDef::viewSkipInfo, IOInterface.class, int.class, int.class);
+				this.generateViewSpark("getViewElement", Object.class, ClassDef::viewElementInfo, IOInterface.class, int.class, int.class, int.class);
+			}
+
 			// Generate methods
-			this.methods.forEach((childClazz, childMethodDef) -> {
-				childMethodDef.generateMethods(this);
-			});
+			Stream<MethodDef> methodDefs = this.methods.values().stream();
+			if (this.methods.size() >= this.parallelThreshold) {
+				methodDefs = methodDefs.parallel();
+			}
+			methodDefs.forEach(childMethodDef -> childMethodDef.generateMethods(this));
+
+			// Merge them in a fixed order, so the same structure always results in the same class.
+			this.methodNodes.stream()
+					.sorted(Comparator.comparing((MethodNode node) -> node.name).thenComparing(node -> node.desc))
+					.forEach(node -> node.accept(this.cw));
 
 			// Define class
-			return defineClass();
+			final byte[] bytes = cw.toByteArray();
+			if (this.cacheDir != null) {
+				this.storeCached(fingerprint, bytes);
+			}
+			return defineClass(bytes);
 		} catch (Throwable throwable) {
 			HyphenException hyphenException;
 			if (throwable instanceof HyphenException he) {
@@ -263,37 +521,243 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 		}
 	}
 
-	private synchronized <O extends HyphenSerializer<IO, D>> HyphenSerializer<IO, D> defineClass() {
-		final byte[] bytes = cw.toByteArray();
+	/**
+	 * Hashes everything the generated code depends on. Only valid once the data class has been scanned.
+	 *
+	 * @return The SHA-256 of the structure as a hex string.
+	 */
+	public String fingerprint() {
+		final List<String> descriptions = new ArrayList<>();
+		this.scanDeduplicationMap.values().forEach(def -> {
+			StringBuilder builder = new StringBuilder();
+			def.describe(builder);
+			descriptions.add(builder.toString());
+		});
+		Collections.sort(descriptions);
+
+		final StringBuilder builder = new StringBuilder();
+		builder.append(GENERATOR_VERSION).append('\n');
+		builder.append(this.ioClass.getName()).append('\n');
+		builder.append(this.dataClass.getName()).append('\n');
+		builder.append(this.className).append('\n');
+		this.options.forEach((option, value) -> {
+			// Picking up a pregenerated class does not change the code.
+			if (option != Options.PREGENERATED) {
+				builder.append(option).append('=').append(value).append('\n');
+			}
+		});
+		descriptions.forEach(description -> builder.append(description).append('\n'));
+		if (this.projection != null) {
+			builder.append("projection=");
+			this.projection.describe(builder);
+			builder.append('\n');
+		}
+
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(StandardCharsets.UTF_8));
+			final StringBuilder hex = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new HyphenException("Could not fingerprint the serializer.", e, "Every Java platform is required to support SHA-256.");
+		}
+	}
+
+	/**
+	 * Looks for a serializer generated ahead of time with the same class name.
+	 *
+	 * @return The serializer, or null if there is none or it was generated from a different structure.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private HyphenSerializer<IO, D> loadPregenerated(String fingerprint) {
+		final Class<?> pregenerated;
+		try {
+			pregenerated = Class.forName(this.className.replace('/', '.'), false, this.classLoader);
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+
+		if (!HyphenSerializer.class.isAssignableFrom(pregenerated)) {
+			return null;
+		}
 
 		try {
-			if (exportPath != null) {
-				try {
-					Files.write(exportPath, bytes, StandardOpenOption.CREATE);
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
+			if (!fingerprint.equals(pregenerated.getField(FINGERPRINT_FIELD).get(null))) {
+				return null;
 			}
-			ClassDefiner definer = new ClassDefiner(classLoader);
-			final Class<O> def = (Class<O>) definer.def(className, bytes);
+			return (HyphenSerializer<IO, D>) pregenerated.getConstructor().newInstance();
+		} catch (NoSuchFieldException e) {
+			return null;
+		} catch (ReflectiveOperationException e) {
+			throw new HyphenException("Pregenerated serializer " + pregenerated.getName() + " could not be created.", e, "Generate it again with the current version of Hyphen.");
+		}
+	}
 
-			if (options.get(Options.FAST_ALLOC)) {
-				return (HyphenSerializer<IO, D>) ClassDefiner.SERIALIZER;
-			} else {
-				try {
-					var constructor = def.getConstructor();
-					constructor.setAccessible(true);
-					return constructor.newInstance();
-				} catch (Throwable e) {
-					throw new RuntimeException(e);
+	/**
+	 * Defines a serializer that was generated by an earlier run, skipping all method generation.
+	 *
+	 * @return The serializer, or null if it is not in the cache or the cached file is broken.
+	 */
+	@Nullable
+	private HyphenSerializer<IO, D> loadCached(String fingerprint) {
+		final Path path = this.cacheDir.resolve(fingerprint + ".class");
+		final byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(path);
+		} catch (IOException e) {
+			return null;
+		}
+
+		try {
+			return this.define(bytes);
+		} catch (LinkageError e) {
+			// A broken file gets replaced once the serializer is generated again.
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the class into the cache. The file is moved into place at once, so other processes never read a partially written class.
+	 */
+	private void storeCached(String fingerprint, byte[] bytes) {
+		try {
+			Files.createDirectories(this.cacheDir);
+			final Path temp = Files.createTempFile(this.cacheDir, fingerprint, ".tmp");
+			try {
+				Files.write(temp, bytes);
+				Files.move(temp, this.cacheDir.resolve(fingerprint + ".class"), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private HyphenSerializer<IO, D> defineClass(byte[] bytes) {
+		if (exportPath != null) {
+			try {
+				final Path parent = exportPath.toAbsolutePath().getParent();
+				if (parent != null) {
+					Files.createDirectories(parent);
 				}
+				Files.write(exportPath, bytes);
+			} catch (IOException e) {
+				e.printStackTrace();
 			}
+		}
+
+		try {
+			return define(bytes);
 		} catch (Throwable thr) {
 			CheckClassAdapter.verify(new ClassReader(bytes), true, new PrintWriter(System.out));
 			throw thr;
 		}
 	}
 
+	@SuppressWarnings("unchecked")
+	private HyphenSerializer<IO, D> define(byte[] bytes) {
+		if (lookup != null) {
+			try {
+				final MethodHandles.Lookup hidden = nestmate
+						? lookup.defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE)
+						: lookup.defineHiddenClass(bytes, true);
+				return (HyphenSerializer<IO, D>) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(Void.TYPE)).invoke();
+			} catch (IllegalAccessException e) {
+				throw new HyphenException("Could not define the serializer in " + lookup, e, "Hidden classes need a lookup with full privilege access, like MethodHandles.lookup()");
+			} catch (LinkageError | RuntimeException e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		ClassDefiner definer = new ClassDefiner(classLoader);
+		final Class<?> def = definer.def(className.replace('/', '.'), bytes);
+
+		if (options.get(Options.FAST_ALLOC)) {
+			return (HyphenSerializer<IO, D>) definer.getSerializer();
+		} else {
+			try {
+				var constructor = def.getConstructor();
+				constructor.setAccessible(true);
+				return (HyphenSerializer<IO, D>) constructor.newInstance();
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	private void generatePutGrowing(MethodInfo target) {
+		try {
+			var create = this.ioClass.getMethod("create");
+			if (!Modifier.isStatic(create.getModifiers()) || create.getReturnType() != this.ioClass) {
+				throw new NoSuchMethodException();
+			}
+		} catch (NoSuchMethodException e) {
+			throw new HyphenException("Growable IO " + this.ioClass.getSimpleName() + " does not have a static create() method.", "Add a public static create() method which returns a new " + this.ioClass.getSimpleName());
+		}
+
+		MethodVisitor visitor = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, "putGrowing",
+				GenUtil.methodDesc(IOInterface.class, Object.class)
+				, null, null);
+
+		visitor.visitCode();
+		visitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(this.ioClass), "create", GenUtil.methodDesc(this.ioClass), false);
+		visitor.visitInsn(DUP);
+		visitor.visitVarInsn(ALOAD, 1);
+		visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(target.parameters[1]));
+		visitor.visitMethodInsn(INVOKESTATIC, className, target.name, GenUtil.methodDesc(target.returnClass, target.parameters), false);
+		visitor.visitInsn(ARETURN);
+		visitor.visitMaxs(0, 0);
+		visitor.visitEnd();
+	}
+
+	/**
+	 * Generates a method which picks the view method of a class by its view id. Classes without that method end up at the same exception as unknown ids.
+	 *
+	 * @param parameters The IO, the view id and the ints passed on to the view method.
+	 */
+	private void generateViewSpark(String name, Class<?> returnClass, Function<ClassDef, MethodInfo> target, Class<?>... parameters) {
+		MethodVisitor visitor = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, name,
+				GenUtil.methodDesc(returnClass, parameters)
+				, null, null);
+
+		visitor.visitCode();
+		final Label[] labels = new Label[this.views.size()];
+		Arrays.setAll(labels, i -> new Label());
+		final Label outOfBounds = new Label();
+		visitor.visitVarInsn(ILOAD, 2);
+		visitor.visitTableSwitchInsn(0, labels.length - 1, outOfBounds, labels);
+		for (int i = 0; i < labels.length; i++) {
+			final MethodInfo info = target.apply(this.views.get(i));
+			visitor.visitLabel(labels[i]);
+			if (info == null) {
+				visitor.visitJumpInsn(GOTO, outOfBounds);
+				continue;
+			}
+			visitor.visitVarInsn(ALOAD, 1);
+			visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(this.ioClass));
+			for (int slot = 3; slot <= parameters.length; slot++) {
+				visitor.visitVarInsn(ILOAD, slot);
+			}
+			visitor.visitMethodInsn(INVOKESTATIC, className, info.name, GenUtil.methodDesc(info.returnClass, info.parameters), false);
+			visitor.visitInsn(Type.getType(returnClass).getOpcode(IRETURN));
+		}
+
+		visitor.visitLabel(outOfBounds);
+		String exception = Type.getInternalName(IndexOutOfBoundsException.class);
+		visitor.visitTypeInsn(NEW, exception);
+		visitor.visitInsn(DUP);
+		visitor.visitMethodInsn(INVOKESPECIAL, exception, "<init>", GenUtil.methodDesc(Void.TYPE), false);
+		visitor.visitInsn(ATHROW);
+		visitor.visitMaxs(0, 0);
+		visitor.visitEnd();
+	}
+
 	private void generateSpark(MethodInfo info, MethodInfo target, Consumer<MethodVisitor> postProcessor, Consumer<MethodVisitor> nullWriter) {
 		MethodVisitor visitor = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, info.name,
 				GenUtil.methodDesc(info.returnClass, info.parameters)
@@ -320,4 +784,23 @@ public class SerializerGenerator<IO extends IOInterface, D> {
 		visitor.visitMaxs(0, 0);
 		visitor.visitEnd();
 	}
+
+	/**
+	 * The fields selected from a class, a field is decoded whole if it is whole or has no fields selected.
+	 */
+	private static final class Projection {
+		// Sorted, so the description is the same whatever order the paths came in.
+		private final Map<String, Projection> fields = new TreeMap<>();
+		private boolean whole;
+
+		private void describe(StringBuilder builder) {
+			builder.append('{');
+			this.fields.forEach((name, child) -> {
+				builder.append(name);
+				child.describe(builder);
+				builder.append(',');
+			});
+			builder.append('}');
+		}
+	}
 }
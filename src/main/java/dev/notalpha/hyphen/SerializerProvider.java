@@ -0,0 +1,16 @@
+package dev.notalpha.hyphen;
+
+import java.util.List;
+
+/**
+ * Provides the factories that {@link Pregenerator} generates serializers for ahead of time. <br>
+ * Implementations are found through {@link java.util.ServiceLoader}, so list them in {@code META-INF/services/dev.notalpha.hyphen.SerializerProvider}.
+ */
+public interface SerializerProvider {
+	/**
+	 * Every factory needs a unique class name and has to be configured exactly like the one built at runtime.
+	 *
+	 * @return The factories to generate serializers for.
+	 */
+	List<SerializerFactory<?, ?>> factories();
+}
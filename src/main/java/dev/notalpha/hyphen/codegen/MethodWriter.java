@@ -1,6 +1,12 @@
 package dev.notalpha.hyphen.codegen;
 
+import dev.notalpha.hyphen.codegen.def.PrimitiveIODef;
+import dev.notalpha.hyphen.io.ArrayIO;
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.io.IOInterface;
+import dev.notalpha.hyphen.io.UnsafeIO;
 import dev.notalpha.hyphen.util.GenUtil;
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -16,12 +22,21 @@ import static org.objectweb.asm.Opcodes.*;
  */
 public class MethodWriter extends MethodVisitor implements AutoCloseable {
 	private static final char SHORT_VAR_NAME = '\u0D9E'; // amogus
+	// IO classes which expose static cursor based accessors, mapped to the type of their cursor.
+	private static final Map<Class<?>, Class<?>> CURSOR_IO = Map.of(
+			ArrayIO.class, int.class,
+			ByteBufferIO.class, int.class,
+			UnsafeIO.class, long.class
+	);
 	public final String self;
 	public final Class<?> dataClass;
 	public final Class<?> ioClass;
 	private final Map<String, Variable> variableMap = new LinkedHashMap<>();
 	private final Label start = new Label();
+	private int nextVarSlot = 0;
 	private boolean compactVars;
+	@Nullable
+	private Variable cursor;
 
 	public MethodWriter(MethodVisitor methodVisitor, String self, Class<?> dataClass, Class<?> ioClass) {
 		super(ASM9, methodVisitor);
@@ -34,6 +49,11 @@ public class MethodWriter extends MethodVisitor implements AutoCloseable {
 		this.visitLabel(start);
 	}
 
+	public MethodWriter(MethodVisitor methodVisitor, String self, Class<?> dataClass, Class<?> ioClass, boolean compactVars) {
+		this(methodVisitor, self, dataClass, ioClass);
+		this.compactVars = compactVars;
+	}
+
 	public MethodWriter(
 			ClassWriter cw,
 			MethodInfo methodInfo,
@@ -59,11 +79,33 @@ public class MethodWriter extends MethodVisitor implements AutoCloseable {
 	}
 
 	public void callInst(int opcode, Class<?> owner, String name, Class<?> returnClass, Class<?>... parameters) {
+		final boolean syncCursor = owner == this.ioClass && opcode != INVOKESTATIC;
+		if (syncCursor) {
+			this.storeCursor();
+		}
 		super.visitMethodInsn(opcode, GenUtil.internal(owner), name, GenUtil.methodDesc(returnClass, parameters), owner.isInterface());
+		if (syncCursor) {
+			this.loadCursor();
+		}
 	}
 
 	public void callInst(MethodInfo info) {
+		final boolean syncCursor = info.parameters.length > 0 && info.parameters[0] == this.ioClass;
+		if (syncCursor) {
+			this.storeCursor();
+		}
 		super.visitMethodInsn(INVOKESTATIC, self, info.name, GenUtil.methodDesc(info.returnClass, info.parameters), false);
+		if (syncCursor) {
+			this.loadCursor();
+		}
+	}
+
+	@Override
+	public void visitInsn(int opcode) {
+		if (opcode >= IRETURN && opcode <= RETURN) {
+			this.storeCursor();
+		}
+		super.visitInsn(opcode);
 	}
 
 	// Elegentification:tm:
@@ -109,8 +151,92 @@ public class MethodWriter extends MethodVisitor implements AutoCloseable {
 		this.op(ATHROW);
 	}
 
+	// Cursorification
+	/**
+	 * Loads the IO position into a local variable, after this primitive reads and writes are inlined and only advance that variable.
+	 * The position is written back to the IO before any call that uses the IO and before returning. <br>
+	 * Does nothing if the IO class does not support cursors.
+	 */
+	public void enableCursor() {
+		final Class<?> cursorType = CURSOR_IO.get(this.ioClass);
+		if (cursorType != null && this.cursor == null) {
+			this.cursor = this.addVar("cursor", cursorType);
+			this.loadCursor();
+		}
+	}
+
+	private void loadCursor() {
+		if (this.cursor != null) {
+			this.loadIO();
+			super.visitMethodInsn(INVOKEVIRTUAL, GenUtil.internal(this.ioClass), "cursor", GenUtil.methodDesc(cursorType()), false);
+			this.varOp(ISTORE, this.cursor);
+		}
+	}
+
+	private void storeCursor() {
+		if (this.cursor != null) {
+			this.loadIO();
+			this.varOp(ILOAD, this.cursor);
+			super.visitMethodInsn(INVOKEVIRTUAL, GenUtil.internal(this.ioClass), "cursor", GenUtil.methodDesc(Void.TYPE, cursorType()), false);
+		}
+	}
+
+	private Class<?> cursorType() {
+		assert this.cursor != null;
+		return this.cursor.type().getSort() == Type.LONG ? long.class : int.class;
+	}
+
+	private void advanceCursor(int size) {
+		assert this.cursor != null;
+		if (this.cursor.type().getSort() == Type.LONG) {
+			this.varOp(ILOAD, this.cursor);
+			this.visitLdcInsn((long) size);
+			super.visitInsn(LADD);
+			this.varOp(ISTORE, this.cursor);
+		} else {
+			this.inc(this.cursor, size);
+		}
+	}
+
 	// IOgentification:tm:
+	/**
+	 * Called before a run of {@code bytes} bytes of fixed size values. <br>
+	 * With a cursor on {@link ArrayIO} the whole run is bounds checked here, which lets the JIT drop the checks of the accesses inside it.
+	 * Otherwise only writes call {@link IOInterface#ensureRemaining(int)}, so an IO which grows or flushes makes room for the run at once.
+	 * The cursor IOs check every access or none on their own, so the call is left out for them.
+	 */
+	public void ensureRemaining(int bytes, boolean write) {
+		if (this.cursor != null && this.ioClass == ArrayIO.class) {
+			// IO | CURSOR | INT ->
+			this.loadIO();
+			this.varOp(ILOAD, this.cursor);
+			this.visitLdcInsn(bytes);
+			super.visitMethodInsn(INVOKESTATIC, GenUtil.internal(ArrayIO.class), "checkRemainingAt", GenUtil.methodDesc(Void.TYPE, ArrayIO.class, int.class, int.class), false);
+			return;
+		}
+		if (!write || CURSOR_IO.containsKey(this.ioClass)) {
+			return;
+		}
+		try {
+			if (this.ioClass.getMethod("ensureRemaining", int.class).getDeclaringClass() == IOInterface.class) {
+				return;
+			}
+		} catch (NoSuchMethodException e) {
+			throw new RuntimeException(e);
+		}
+		this.loadIO();
+		this.visitLdcInsn(bytes);
+		this.callInst(this.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, this.ioClass, "ensureRemaining", Void.TYPE, int.class);
+	}
+
 	public void getIO(Class<?> primitive) {
+		if (this.cursor != null && primitive.isPrimitive()) {
+			// IO -> IO | CURSOR -> VALUE
+			this.varOp(ILOAD, this.cursor);
+			super.visitMethodInsn(INVOKESTATIC, GenUtil.internal(this.ioClass), "get" + getIOName(primitive) + "At", GenUtil.methodDesc(primitive, this.ioClass, cursorType()), false);
+			this.advanceCursor(PrimitiveIODef.getSize(primitive));
+			return;
+		}
 
 		Class<?>[] parameters = new Class[primitive.isArray() ? 1 : 0];
 		if (primitive.isArray()) {
@@ -121,6 +247,13 @@ public class MethodWriter extends MethodVisitor implements AutoCloseable {
 	}
 
 	public void putIO(Class<?> primitive) {
+		if (this.cursor != null && primitive.isPrimitive()) {
+			// IO | VALUE -> IO | VALUE | CURSOR ->
+			this.varOp(ILOAD, this.cursor);
+			super.visitMethodInsn(INVOKESTATIC, GenUtil.internal(this.ioClass), "put" + getIOName(primitive) + "At", GenUtil.methodDesc(Void.TYPE, this.ioClass, primitive, cursorType()), false);
+			this.advanceCursor(PrimitiveIODef.getSize(primitive));
+			return;
+		}
 		Class<?>[] parameters = new Class[primitive.isArray() ? 2 : 1];
 		parameters[0] = primitive;
 		if (primitive.isArray()) {
@@ -131,6 +264,98 @@ public class MethodWriter extends MethodVisitor implements AutoCloseable {
 		this.callInst(INVOKEVIRTUAL, this.ioClass, "put" + getIOName(primitive), Void.TYPE, parameters);
 	}
 
+	// Moves the IO past a constant amount of bytes
+	public void skipIO(int bytes) {
+		if (this.cursor != null) {
+			this.advanceCursor(bytes);
+			return;
+		}
+		this.loadIO();
+		this.visitLdcInsn(bytes);
+		this.callInst(this.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, this.ioClass, "skip", Void.TYPE, int.class);
+	}
+
+	// INT ->, moves the IO past the amount of bytes on the stack
+	public void skipIO() {
+		if (this.cursor != null) {
+			if (this.cursor.type().getSort() == Type.LONG) {
+				super.visitInsn(I2L);
+			}
+			this.varOp(ILOAD, this.cursor);
+			super.visitInsn(this.cursor.type().getOpcode(IADD));
+			this.varOp(ISTORE, this.cursor);
+			return;
+		}
+		this.loadIO();
+		this.op(SWAP);
+		this.callInst(this.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, this.ioClass, "skip", Void.TYPE, int.class);
+	}
+
+	// IO -> VALUE, reads an unsigned variable length int or long
+	public void getVarIO(Class<?> primitive) {
+		this.callInst(INVOKEVIRTUAL, this.ioClass, "getVar" + getIOName(primitive), primitive);
+	}
+
+	// IO | VALUE ->
+	public void putVarIO(Class<?> primitive) {
+		this.callInst(INVOKEVIRTUAL, this.ioClass, "putVar" + getIOName(primitive), Void.TYPE, primitive);
+	}
+
+	// VALUE -> LONG
+	public void measureVarIO(Class<?> primitive) {
+		this.callInst(INVOKESTATIC, IOInterface.class, "var" + getIOName(primitive) + "Size", int.class, primitive);
+		this.op(I2L);
+	}
+
+	// IO -> INT
+	public void getLength(boolean varInt) {
+		if (varInt) {
+			this.getVarIO(int.class);
+		} else {
+			this.getIO(int.class);
+		}
+	}
+
+	// IO | INT ->
+	public void putLength(boolean varInt) {
+		if (varInt) {
+			this.putVarIO(int.class);
+		} else {
+			this.putIO(int.class);
+		}
+	}
+
+	// IO -> INT, skips the length and pushes where it has to be written with patchLength
+	public void reserveLength() {
+		this.callInst(this.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, this.ioClass, "reserveInt", int.class);
+	}
+
+	// INT -> ARRAY, creates an array of the primitive
+	public void newArray(Class<?> primitive) {
+		final int type = switch (Type.getType(primitive).getSort()) {
+			case Type.BOOLEAN -> T_BOOLEAN;
+			case Type.BYTE -> T_BYTE;
+			case Type.CHAR -> T_CHAR;
+			case Type.SHORT -> T_SHORT;
+			case Type.INT -> T_INT;
+			case Type.LONG -> T_LONG;
+			case Type.FLOAT -> T_FLOAT;
+			case Type.DOUBLE -> T_DOUBLE;
+			default -> throw new IllegalArgumentException(primitive + " is not a primitive");
+		};
+		this.visitIntInsn(NEWARRAY, type);
+	}
+
+	// IO -> INT, the current position of the IO
+	public void getPosition() {
+		this.callInst(this.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, this.ioClass, "pos", int.class);
+	}
+
+	// IO | INT | INT ->, writes the length at a position pushed by reserveLength
+	public void patchLength() {
+		this.callInst(this.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, this.ioClass, "patchInt", Void.TYPE, int.class, int.class);
+	}
+
 	private static String getIOName(Class<?> primitive) {
 		if (primitive.isArray()) {
 			return GenUtil.upperCase(primitive.getComponentType().getSimpleName()) + "Array";
@@ -138,6 +363,11 @@ public class MethodWriter extends MethodVisitor implements AutoCloseable {
 		return GenUtil.upperCase(primitive.getSimpleName());
 	}
 
+	// VALUE ->
+	public void pop(Class<?> type) {
+		this.op(type == long.class || type == double.class ? POP2 : POP);
+	}
+
 	// Label things
 	public Label jump(int op) {
 		final Label label = new Label();
@@ -176,7 +406,8 @@ public class MethodWriter extends MethodVisitor implements AutoCloseable {
 			name += i;
 		}
 
-		var var = new Variable(variableMap.size(), Type.getType(type));
+		var var = new Variable(nextVarSlot, Type.getType(type));
+		nextVarSlot += var.type().getSize();
 		variableMap.put(name, var);
 		return var;
 	}
@@ -49,6 +49,13 @@ public class PackedBooleans {
 		mh.op(ICONST_1, IAND);
 	}
 
+	// Moves on to the next boolean without loading it.
+	public void skipBoolean() {
+		if ((booleansAmount++) % 8 == 0) {
+			stacks++;
+		}
+	}
+
 	public void writePut(MethodWriter mh) {
 		for (int i = 0; i < stacks; i++) {
 			mh.putIO(byte.class);
@@ -1,6 +1,7 @@
 package dev.notalpha.hyphen.codegen.def;
 
 import dev.notalpha.hyphen.codegen.MethodWriter;
+import dev.notalpha.hyphen.scan.struct.Struct;
 
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
 import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
@@ -13,6 +14,11 @@ public class BoxedIODef extends PrimitiveIODef {
 		this.boxed = boxed;
 	}
 
+	public BoxedIODef(Struct struct) {
+		super(struct, getPrimitiveFromBoxed(struct.getValueClass()));
+		this.boxed = struct.getValueClass();
+	}
+
 	private static Class<?> getPrimitiveFromBoxed(Class<?> boxed) {
 		try {
 			return (Class<?>) boxed.getDeclaredField("TYPE").get(null);
@@ -34,4 +40,12 @@ public class BoxedIODef extends PrimitiveIODef {
 			mh.callInst(INVOKEVIRTUAL, boxed, primitive.getSimpleName() + "Value", primitive);
 		});
 	}
+
+	@Override
+	public void writeMeasure(MethodWriter mh, Runnable valueLoad) {
+		super.writeMeasure(mh, () -> {
+			valueLoad.run();
+			mh.callInst(INVOKEVIRTUAL, boxed, primitive.getSimpleName() + "Value", primitive);
+		});
+	}
 }
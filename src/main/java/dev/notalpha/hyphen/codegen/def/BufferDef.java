@@ -15,6 +15,7 @@ public class BufferDef extends SerializerDef<ClassStruct> {
 	protected final Class<?> buffer;
 	protected final Class<?> primitive;
 	protected final BufferType type;
+	protected boolean varLength;
 
 	public BufferDef(Struct clazz) {
 		super((ClassStruct) clazz);
@@ -49,6 +50,7 @@ public class BufferDef extends SerializerDef<ClassStruct> {
 			throw new UnsupportedOperationException("IO implementation does not support buffers");
 		}
 		super.scan(handler);
+		this.varLength = useVarInts(handler);
 	}
 
 	@Override
@@ -64,7 +66,7 @@ public class BufferDef extends SerializerDef<ClassStruct> {
 		mh.op(Opcodes.DUP_X1);
 		// IO | VALUE | INT | IO | INT
 
-		mh.putIO(int.class);
+		mh.putLength(varLength);
 		// IO | VALUE | INT
 
 		mh.callInst(Opcodes.INVOKEVIRTUAL, mh.ioClass, "put" + buffer.getSimpleName(), Void.TYPE, buffer, int.class);
@@ -74,7 +76,7 @@ public class BufferDef extends SerializerDef<ClassStruct> {
 	public void writeGet(MethodWriter mh) {
 		mh.loadIO();
 		mh.loadIO();
-		mh.getIO(int.class);
+		mh.getLength(varLength);
 		mh.op(Opcodes.DUP);
 		// IO | LENGTH | LENGTH
 		allocateBuffer(mh);
@@ -86,6 +88,18 @@ public class BufferDef extends SerializerDef<ClassStruct> {
 		// BYTEBUFFER
 	}
 
+	@Override
+	public void writeSkip(MethodWriter mh) {
+		int primitiveSize = PrimitiveIODef.getSize(primitive);
+		mh.loadIO();
+		mh.getLength(varLength);
+		if (primitiveSize != 1) {
+			mh.visitLdcInsn(primitiveSize);
+			mh.op(Opcodes.IMUL);
+		}
+		mh.skipIO();
+	}
+
 	protected void allocateBuffer(MethodWriter mh) {
 		switch (type) {
 			case HEAP -> mh.callInst(Opcodes.INVOKESTATIC, buffer, "allocate", buffer, int.class);
@@ -98,7 +112,7 @@ public class BufferDef extends SerializerDef<ClassStruct> {
 
 	@Override
 	public long getStaticSize() {
-		return 4;
+		return varLength ? 0 : 4;
 	}
 
 	@Override
@@ -112,6 +126,12 @@ public class BufferDef extends SerializerDef<ClassStruct> {
 			mh.visitLdcInsn(primitiveSize);
 			mh.op(Opcodes.LMUL);
 		}
+		if (varLength) {
+			valueLoad.run();
+			mh.callInst(Opcodes.INVOKEVIRTUAL, buffer, "limit", int.class);
+			mh.measureVarIO(int.class);
+			mh.op(Opcodes.LADD);
+		}
 	}
 
 	public enum BufferType {
@@ -2,21 +2,30 @@ package dev.notalpha.hyphen.codegen.def;
 
 import dev.notalpha.hyphen.Options;
 import dev.notalpha.hyphen.SerializerGenerator;
+import dev.notalpha.hyphen.codegen.MethodInfo;
 import dev.notalpha.hyphen.codegen.MethodWriter;
 import dev.notalpha.hyphen.codegen.PackedBooleans;
 import dev.notalpha.hyphen.codegen.Variable;
 import dev.notalpha.hyphen.codegen.statement.If;
 import dev.notalpha.hyphen.codegen.statement.IfElse;
+import dev.notalpha.hyphen.codegen.statement.TableSwitch;
+import dev.notalpha.hyphen.scan.ClassInfo;
 import dev.notalpha.hyphen.scan.StructField;
 import dev.notalpha.hyphen.scan.annotations.DataNullable;
 import dev.notalpha.hyphen.scan.struct.ClassStruct;
 import dev.notalpha.hyphen.scan.struct.Struct;
 import dev.notalpha.hyphen.thr.HyphenException;
 import dev.notalpha.hyphen.util.GenUtil;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
 
 import static org.objectweb.asm.Opcodes.*;
 
@@ -26,6 +35,18 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 	private Class<?>[] constructorParameters;
 	private Class<?> aClass;
 	private boolean shouldCompactBooleans;
+	private SerializerGenerator<?, ?> handler;
+	// Every field adds the static size of its definition, so without caching nested classes get walked once per path to them.
+	private volatile long staticSize = -1;
+	@Nullable
+	private volatile Boolean dynamicSize;
+	@Nullable
+	private MethodInfo viewGetInfo;
+	@Nullable
+	private MethodInfo viewSkipInfo;
+	@Nullable
+	private MethodInfo viewElementInfo;
+	private int viewId = -1;
 
 	public ClassDef(ClassStruct struct) {
 		super(struct);
@@ -33,7 +54,7 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 
 	@Override
 	public void scan(SerializerGenerator<?, ?> handler) {
-		super.scan(handler);
+		this.handler = handler;
 		this.aClass = struct.getValueClass();
 		this.shouldCompactBooleans = handler.isEnabled(Options.COMPACT_BOOLEANS);
 		boolean record = aClass.isRecord();
@@ -41,7 +62,7 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 			List<StructField> classFields = struct.getAllFields(handler.scanner);
 
 			for (StructField field : classFields) {
-				if (shouldFieldSerialize(field)) {
+				if (shouldFieldSerialize(field.field)) {
 					try {
 						SerializerDef<?> serializerDef;
 						serializerDef = handler.acquireDef(field.type);
@@ -53,11 +74,8 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 						} else if (Modifier.isPublic(field.field.getModifiers())) {
 							access = ClassFieldAccess.Field;
 						} else {
-							try {
-								String name = "get" + GenUtil.upperCase(fieldName);
-								aClass.getDeclaredMethod(name);
+							if (ClassInfo.of(aClass).hasGetter("get" + GenUtil.upperCase(fieldName))) {
 								access = ClassFieldAccess.Getter;
-							} catch (NoSuchMethodException ignored) {
 							}
 						}
 
@@ -73,21 +91,18 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 			}
 
 			if (!handler.isEnabled(Options.DISABLE_PUT)) {
-				Struct scan = handler.scanner.scan(struct.aClass, null);
 				List<Class<?>> constructorParameters = new ArrayList<>();
-				for (StructField classField : ((ClassStruct) scan).getAllFields(handler.scanner)) {
-					if (shouldFieldSerialize(classField)) {
-						constructorParameters.add(classField.type.getValueClass());
+				for (ClassInfo.ResolvedField classField : ClassInfo.of(aClass).getResolvedFields()) {
+					if (shouldFieldSerialize(classField.field())) {
+						constructorParameters.add(classField.type());
 					}
 				}
 				this.constructorParameters = constructorParameters.toArray(Class[]::new);
-				try {
-					if (!Modifier.isPublic(aClass.getConstructor(this.constructorParameters).getModifiers())) {
-						throw new HyphenException("Could not access constructor", "Check if the constructor is public.");
-					}
-
-				} catch (NoSuchMethodException e) {
-					throw new HyphenException(e.getMessage(), "Check if the constructor holds all of the fields.");
+				var constructor = ClassInfo.of(aClass).getDeclaredConstructor(this.constructorParameters);
+				if (constructor == null) {
+					throw new HyphenException("Could not find constructor " + GenUtil.methodDesc(Void.TYPE, this.constructorParameters) + " in " + aClass.getName(), "Check if the constructor holds all of the fields.");
+				} else if (!Modifier.isPublic(constructor.getModifiers())) {
+					throw new HyphenException("Could not access constructor", "Check if the constructor is public.");
 				}
 			} else {
 				this.constructorParameters = null;
@@ -95,10 +110,93 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 		} catch (Throwable throwable) {
 			throw HyphenException.rethrow(struct, null, throwable);
 		}
+		// The fields decide if a measure method is needed, so they have to be scanned first.
+		super.scan(handler);
+
+		if (handler.isEnabled(Options.VIEWS) && !handler.isEnabled(Options.DISABLE_GET)) {
+			this.viewGetInfo = handler.createMethodInfo(struct, "viewGet", suffix, Object.class, handler.ioClass, int.class);
+			this.viewSkipInfo = handler.createMethodInfo(struct, "viewSkip", suffix, Void.TYPE, handler.ioClass, int.class);
+			if (this.fields.stream().anyMatch(field -> field.def instanceof IndexedDef<?> indexedDef && indexedDef.isIndexed())) {
+				this.viewElementInfo = handler.createMethodInfo(struct, "viewElement", suffix, Object.class, handler.ioClass, int.class, int.class);
+			}
+			this.viewId = handler.addView(this);
+		}
+	}
+
+	@Override
+	public void generateMethods(SerializerGenerator<?, ?> handler) {
+		super.generateMethods(handler);
+		if (this.viewGetInfo != null) {
+			handler.generateMethod(this.struct, this.viewGetInfo, false, mh -> this.writeViewMethod(mh, false));
+			handler.generateMethod(this.struct, this.viewSkipInfo, false, mh -> this.writeViewMethod(mh, true));
+		}
+		if (this.viewElementInfo != null) {
+			handler.generateMethod(this.struct, this.viewElementInfo, false, this::writeViewElementMethod);
+		}
+	}
+
+	/**
+	 * Writes a method which decodes the element at the index of the third parameter, out of the indexed list or array field at the index of the second parameter.
+	 */
+	private void writeViewElementMethod(MethodWriter mh) {
+		mh.parameterOp(ILOAD, 1);
+		try (var tableSwitch = new TableSwitch(mh, 0, this.fields.size())) {
+			tableSwitch.labels(i -> {
+				if (this.fields.get(i).def instanceof IndexedDef<?> indexedDef && indexedDef.elementInfo() != null) {
+					mh.loadIO();
+					mh.parameterOp(ILOAD, 2);
+					mh.callInst(indexedDef.elementInfo());
+					mh.op(ARETURN);
+				} else {
+					mh.throwException("Field is not an indexed list or array");
+				}
+			});
+			tableSwitch.defaultLabel();
+			mh.throwException("Field index out of bounds");
+		}
+	}
+
+	/**
+	 * Writes a method which decodes or skips the field at the index of the second parameter, starting at the current position.
+	 * The field has to be present, compacted booleans and null checks are read by {@link dev.notalpha.hyphen.HyphenView} itself.
+	 *
+	 * @param skip if the value should be dropped instead of returned.
+	 */
+	private void writeViewMethod(MethodWriter mh, boolean skip) {
+		if (this.fields.isEmpty()) {
+			mh.throwException("Class has no fields");
+			return;
+		}
+
+		mh.parameterOp(ILOAD, 1);
+		try (var tableSwitch = new TableSwitch(mh, 0, this.fields.size())) {
+			tableSwitch.labels(i -> {
+				var entry = this.fields.get(i);
+				if (shouldCompactBoolean(entry.fieldEntry)) {
+					mh.throwException("Compacted booleans are not encoded on their own");
+					return;
+				}
+
+				if (skip) {
+					entry.def.writeSkip(mh);
+					mh.op(RETURN);
+				} else {
+					entry.def.writeGet(mh);
+					Class<?> bytecodeClass = entry.fieldEntry.type.getBytecodeClass();
+					if (bytecodeClass.isPrimitive()) {
+						Class<?> boxed = MethodType.methodType(bytecodeClass).wrap().returnType();
+						mh.callInst(INVOKESTATIC, boxed, "valueOf", boxed, bytecodeClass);
+					}
+					mh.op(ARETURN);
+				}
+			});
+			tableSwitch.defaultLabel();
+			mh.throwException("Field index out of bounds");
+		}
 	}
 
-	private boolean shouldFieldSerialize(StructField field) {
-		return !Modifier.isTransient(field.field.getModifiers());
+	private boolean shouldFieldSerialize(Field field) {
+		return !Modifier.isTransient(field.getModifiers());
 	}
 
 	@Override
@@ -112,9 +210,11 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 		packedBooleans.writeGet(mh);
 		mh.typeOp(NEW, aClass);
 		mh.op(DUP);
+		boolean inFixedRun = false;
 		for (int i = 0; i < fields.size(); i++) {
 			var entry = fields.get(i);
 			var fieldEntry = entry.fieldEntry;
+			inFixedRun = ensureFixedRun(mh, i, inFixedRun, false);
 			if (entry.isNullable()) {
 				packedBooleans.getBoolean(mh);
 				try (var anIf = new IfElse(mh, IFNE)) {
@@ -132,6 +232,146 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 		mh.callInst(INVOKESPECIAL, aClass, "<init>", Void.TYPE, constructorParameters);
 	}
 
+	/**
+	 * Writes a get which only decodes the selected fields. The others are skipped and get their default value, null or 0.
+	 *
+	 * @param selected The names of the selected fields, mapped to the method decoding a part of them or null to decode all of it.
+	 */
+	public void writeProjectedGet(MethodWriter mh, Map<String, MethodInfo> selected) {
+		var packedBooleans = new PackedBooleans();
+		for (var entry : fields) {
+			if (entry.isNullable() || shouldCompactBoolean(entry.fieldEntry)) {
+				packedBooleans.countBoolean();
+			}
+		}
+		packedBooleans.writeGet(mh);
+		mh.typeOp(NEW, aClass);
+		mh.op(DUP);
+		// Fixed size fields in a row are skipped at once.
+		long run = 0;
+		for (int i = 0; i < fields.size(); i++) {
+			var entry = fields.get(i);
+			var fieldEntry = entry.fieldEntry;
+			String name = fieldEntry.field.getName();
+			if (shouldCompactBoolean(fieldEntry)) {
+				if (selected.containsKey(name)) {
+					packedBooleans.getBoolean(mh);
+				} else {
+					packedBooleans.skipBoolean();
+					mh.op(ICONST_0);
+				}
+				continue;
+			}
+
+			if (!selected.containsKey(name) && !entry.isNullable() && !entry.def.hasDynamicSize()) {
+				run += entry.def.getStaticSize();
+				pushDefault(mh, constructorParameters[i]);
+				continue;
+			}
+
+			run = skipRun(mh, run);
+			if (!selected.containsKey(name)) {
+				if (entry.isNullable()) {
+					packedBooleans.getBoolean(mh);
+					try (var anIf = new If(mh, IFNE)) {
+						entry.def.writeSkip(mh);
+					}
+				} else {
+					entry.def.writeSkip(mh);
+				}
+				pushDefault(mh, constructorParameters[i]);
+				continue;
+			}
+
+			MethodInfo projection = selected.get(name);
+			if (entry.isNullable()) {
+				packedBooleans.getBoolean(mh);
+				try (var anIf = new IfElse(mh, IFNE)) {
+					writeProjectedField(mh, entry, projection);
+					anIf.elseEnd();
+					mh.op(ACONST_NULL);
+				}
+			} else {
+				writeProjectedField(mh, entry, projection);
+			}
+			GenUtil.ensureCasted(mh, constructorParameters[i], fieldEntry.type.getBytecodeClass());
+		}
+		skipRun(mh, run);
+		mh.callInst(INVOKESPECIAL, aClass, "<init>", Void.TYPE, constructorParameters);
+	}
+
+	private static void writeProjectedField(MethodWriter mh, ClassField entry, @Nullable MethodInfo projection) {
+		if (projection == null) {
+			entry.def.writeGet(mh);
+		} else {
+			mh.loadIO();
+			mh.callInst(projection);
+		}
+	}
+
+	private static void pushDefault(MethodWriter mh, Class<?> type) {
+		if (type == long.class) {
+			mh.op(LCONST_0);
+		} else if (type == float.class) {
+			mh.op(FCONST_0);
+		} else if (type == double.class) {
+			mh.op(DCONST_0);
+		} else if (type.isPrimitive()) {
+			mh.op(ICONST_0);
+		} else {
+			mh.op(ACONST_NULL);
+		}
+	}
+
+	@Override
+	protected void writeMethodSkip(MethodWriter mh) {
+		var packedBooleans = new PackedBooleans();
+		boolean hasNullable = false;
+		int booleans = 0;
+		for (var entry : fields) {
+			if (entry.isNullable() || shouldCompactBoolean(entry.fieldEntry)) {
+				packedBooleans.countBoolean();
+				hasNullable |= entry.isNullable();
+				booleans++;
+			}
+		}
+
+		// Fixed size fields in a row are skipped at once.
+		long run = 0;
+		if (hasNullable) {
+			packedBooleans.writeGet(mh);
+		} else {
+			run = (booleans + 7) >> 3;
+		}
+		for (var entry : fields) {
+			if (shouldCompactBoolean(entry.fieldEntry)) {
+				if (hasNullable) {
+					packedBooleans.skipBoolean();
+				}
+			} else if (entry.isNullable()) {
+				run = skipRun(mh, run);
+				packedBooleans.getBoolean(mh);
+				// The bit is set for null.
+				try (var anIf = new If(mh, IFNE)) {
+					entry.def.writeSkip(mh);
+				}
+			} else if (!entry.def.hasDynamicSize()) {
+				run += entry.def.getStaticSize();
+			} else {
+				run = skipRun(mh, run);
+				entry.def.writeSkip(mh);
+			}
+		}
+		skipRun(mh, run);
+	}
+
+	private static long skipRun(MethodWriter mh, long run) {
+		if (run != 0) {
+			mh.skipIO(Math.toIntExact(run));
+		}
+		return 0;
+	}
+
 	@Override
 	protected void writeMethodPut(MethodWriter mh, Runnable valueLoad) {
 		var info = new PackedBooleans();
@@ -155,15 +395,18 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 		}
 		info.writePut(mh);
 
-		for (var entry : fields) {
+		boolean inFixedRun = false;
+		for (int i = 0; i < fields.size(); i++) {
+			var entry = fields.get(i);
 			var fieldEntry = entry.fieldEntry;
 			if (shouldCompactBoolean(fieldEntry)) {
 				continue;
 			}
+			inFixedRun = ensureFixedRun(mh, i, inFixedRun, true);
 			if (entry.isNullable()) {
 				final Variable cache = mh.getVar(fieldEntry.field.getName() + "temp");
 				mh.varOp(ILOAD, cache);
-				try (var i = new If(mh, IFNULL)) {
+				try (var anIf = new If(mh, IFNULL)) {
 					entry.def.writePut(mh, () -> mh.varOp(ILOAD, cache));
 				}
 			} else {
@@ -172,17 +415,106 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 		}
 	}
 
+	private boolean isFixedSize(ClassField entry) {
+		return !entry.isNullable() && !entry.def.hasDynamicSize() && entry.def.getStaticSize() > 0;
+	}
+
+	/**
+	 * Checks the room for a whole run of fixed size fields once, when the field at {@code index} starts one.
+	 *
+	 * @param write if the run is about to be written rather than read, see {@link MethodWriter#ensureRemaining(int, boolean)}.
+	 * @return if the next field is inside a run that has been checked.
+	 */
+	private boolean ensureFixedRun(MethodWriter mh, int index, boolean inFixedRun, boolean write) {
+		if (shouldCompactBoolean(fields.get(index).fieldEntry)) {
+			return inFixedRun;
+		}
+		if (!isFixedSize(fields.get(index))) {
+			return false;
+		}
+		if (inFixedRun) {
+			return true;
+		}
+
+		long size = 0;
+		int count = 0;
+		for (int i = index; i < fields.size(); i++) {
+			var entry = fields.get(i);
+			if (shouldCompactBoolean(entry.fieldEntry)) {
+				continue;
+			}
+			if (!isFixedSize(entry)) {
+				break;
+			}
+			size += entry.def.getStaticSize();
+			count++;
+		}
+
+		// A single field gains nothing from an extra check.
+		if (count > 1 && size <= Integer.MAX_VALUE) {
+			mh.ensureRemaining((int) size, write);
+		}
+		return true;
+	}
+
 	private boolean shouldCompactBoolean(StructField fieldEntry) {
 		return (shouldCompactBooleans && fieldEntry.type.getValueClass() == boolean.class);
 	}
 
+	/**
+	 * @return if the field is only stored as a bit at the start of the class.
+	 */
+	public boolean isCompactBoolean(ClassField field) {
+		return shouldCompactBoolean(field.fieldEntry);
+	}
+
+	/**
+	 * Pushes a new instance, constructed from the value fieldLoad pushes for the field at each index.
+	 */
+	public void writeConstruct(MethodWriter mh, IntConsumer fieldLoad) {
+		mh.typeOp(NEW, aClass);
+		mh.op(DUP);
+		for (int i = 0; i < fields.size(); i++) {
+			fieldLoad.accept(i);
+			GenUtil.ensureCasted(mh, constructorParameters[i], fields.get(i).fieldEntry.type.getBytecodeClass());
+		}
+		mh.callInst(INVOKESPECIAL, aClass, "<init>", Void.TYPE, constructorParameters);
+	}
+
+	public List<ClassField> getFields() {
+		return Collections.unmodifiableList(this.fields);
+	}
+
+	@Nullable
+	public MethodInfo viewGetInfo() {
+		return this.viewGetInfo;
+	}
+
+	@Nullable
+	public MethodInfo viewSkipInfo() {
+		return this.viewSkipInfo;
+	}
+
+	@Nullable
+	public MethodInfo viewElementInfo() {
+		return this.viewElementInfo;
+	}
+
+	/**
+	 * @return The index of this class in {@link dev.notalpha.hyphen.HyphenSerializer#getViewField}, or -1 if it has no view methods.
+	 */
+	public int getViewId() {
+		return this.viewId;
+	}
+
 	@Override
 	public long getStaticSize() {
-		if (this.fields.isEmpty()) {
-			return 0;
+		long staticSize = this.staticSize;
+		if (staticSize != -1) {
+			return staticSize;
 		}
 
-		int size = 0;
+		long size = 0;
 		int booleans = 0;
 		for (var entry : this.fields) {
 			if (entry.isNullable() || shouldCompactBoolean(entry.fieldEntry)) {
@@ -191,14 +523,48 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 				size += entry.def.getStaticSize();
 			}
 		}
+		staticSize = size + ((booleans + 7) >> 3);
 
-		return size + ((booleans + 7) >> 3);
+		if (!this.handler.isScanning()) {
+			this.staticSize = staticSize;
+		}
+		return staticSize;
 	}
 
 	@Override
 	public boolean hasDynamicSize() {
-		// TODO: actually check if any field has dynamic sizes
-		return true;// !this.fields.isEmpty();
+		Boolean dynamicSize = this.dynamicSize;
+		if (dynamicSize != null) {
+			return dynamicSize;
+		}
+		// A field that leads back to this class before it is scanned means it is recursive, which is never a fixed size.
+		if (!this.isScanned()) {
+			return true;
+		}
+
+		boolean dynamic = false;
+		for (var entry : this.fields) {
+			if (hasDynamicSize(entry)) {
+				dynamic = true;
+				break;
+			}
+		}
+
+		// Fixed sizes only come from finished definitions, a dynamic size may still come from one that is being scanned.
+		if (!dynamic || !this.handler.isScanning()) {
+			this.dynamicSize = dynamic;
+		}
+		return dynamic;
+	}
+
+	private boolean hasDynamicSize(ClassField entry) {
+		if (shouldCompactBoolean(entry.fieldEntry)) {
+			return false;
+		} else if (entry.isNullable()) {
+			return entry.def.hasDynamicSize() || entry.def.getStaticSize() != 0;
+		} else {
+			return entry.def.hasDynamicSize();
+		}
 	}
 
 	@Override
@@ -250,7 +616,6 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 				}
 			}
 			if (i == 0) {
-				// TODO: missed constant size
 				mh.op(LCONST_0);
 			}
 		}
@@ -268,7 +633,10 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 		}
 	}
 
-	private void loadField(MethodWriter mh, ClassField entry, Runnable dataLoad) {
+	/**
+	 * Pushes the value of a field, out of the instance pushed by dataLoad.
+	 */
+	public void loadField(MethodWriter mh, ClassField entry, Runnable dataLoad) {
 		dataLoad.run();
 		var clazz = entry.fieldEntry.type;
 		var field = entry.fieldEntry.field;
@@ -290,6 +658,17 @@ public final class ClassDef extends MethodDef<ClassStruct> {
 	}
 
 
+	@Override
+	public void describe(StringBuilder builder) {
+		super.describe(builder);
+		for (ClassField field : fields) {
+			builder.append(' ').append(field.fieldEntry.field.getName())
+					.append(':').append(field.fieldEntry.type.getValueClass().getName())
+					.append(':').append(field.fieldEntry.type)
+					.append(':').append(field.access);
+		}
+	}
+
 	public record ClassField(SerializerDef<?> def, StructField fieldEntry, ClassFieldAccess access) {
 		public boolean isNullable() {
 			return fieldEntry.type.isAnnotationPresent(DataNullable.class);
@@ -50,6 +50,14 @@ public final class EnumDef extends MethodDef<ClassStruct> {
 		}
 	}
 
+	@Override
+	public void describe(StringBuilder builder) {
+		super.describe(builder);
+		for (Enum<?> constant : en.getEnumConstants()) {
+			builder.append(' ').append(constant.name());
+		}
+	}
+
 	@SuppressWarnings({"unchecked", "unused"})
 	public static <T extends Enum<T>> T[] getValues(MethodHandles.Lookup lookup, String name, Class<T[]> cls) {
 		return (T[]) cls.componentType().getEnumConstants();
@@ -1,15 +1,28 @@
 package dev.notalpha.hyphen.codegen.def;
 
+import dev.notalpha.hyphen.Options;
 import dev.notalpha.hyphen.SerializerGenerator;
+import dev.notalpha.hyphen.codegen.MethodInfo;
 import dev.notalpha.hyphen.codegen.MethodWriter;
 import dev.notalpha.hyphen.codegen.Variable;
 import dev.notalpha.hyphen.codegen.statement.If;
 import dev.notalpha.hyphen.codegen.statement.IfElse;
+import dev.notalpha.hyphen.io.IOPatchInterface;
+import dev.notalpha.hyphen.scan.annotations.DataColumnar;
 import dev.notalpha.hyphen.scan.annotations.DataFixedArraySize;
+import dev.notalpha.hyphen.scan.annotations.DataIndexed;
 import dev.notalpha.hyphen.scan.annotations.DataNullable;
 import dev.notalpha.hyphen.scan.struct.Struct;
+import dev.notalpha.hyphen.thr.HyphenException;
 import dev.notalpha.hyphen.util.GenUtil;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.Type;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Consumer;
 
 import static org.objectweb.asm.Opcodes.*;
@@ -18,10 +31,24 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 	protected SerializerDef componentDef;
 	protected Struct component;
 	protected boolean componentNullable;
+	protected boolean varLength;
 	private final Integer fixedSize;
+	private final boolean indexed;
+	// If the elements are found through a table of their offsets instead of their fixed size, see DataIndexed.
+	private boolean offsetTable;
+	@Nullable
+	private MethodInfo elementInfo;
+	private final boolean columnar;
+	// The component if this is written column by column, see DataColumnar.
+	@Nullable
+	private ClassDef columns;
+	// The size of one element in the columns.
+	private long rowSize;
 
 	public IndexedDef(String name, D clazz) {
 		super(clazz, name);
+		this.indexed = clazz.isAnnotationPresent(DataIndexed.class);
+		this.columnar = clazz.isAnnotationPresent(DataColumnar.class);
 		DataFixedArraySize annotation = clazz.getAnnotation(DataFixedArraySize.class);
 		if (annotation != null) {
 			this.fixedSize = annotation.value();
@@ -35,7 +62,44 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 		this.component = scanComponent(handler);
 		this.componentDef = handler.acquireDef(component);
 		this.componentNullable = component.isAnnotationPresent(DataNullable.class);
+		this.varLength = useVarInts(handler);
+		if (this.indexed) {
+			this.offsetTable = this.componentNullable || this.componentDef.hasDynamicSize();
+			if (this.offsetTable && !handler.isEnabled(Options.DISABLE_PUT) && !IOPatchInterface.class.isAssignableFrom(handler.ioClass)) {
+				throw new HyphenException("The offsets of elements without a fixed size are filled in after writing them, which " + handler.ioClass.getSimpleName() + " can not do.", "Use an IO implementing IOPatchInterface, or elements of a fixed size.");
+			}
+		}
+		if (this.columnar) {
+			this.scanColumns();
+		}
 		super.scan(handler);
+
+		if (this.indexed && !handler.isEnabled(Options.DISABLE_GET)) {
+			this.elementInfo = handler.createMethodInfo(struct, "getElement", suffix, Object.class, handler.ioClass, int.class);
+		}
+	}
+
+	private void scanColumns() {
+		if (this.indexed) {
+			throw new HyphenException("Elements can not be found by their index when they are split into columns.", "Use either @DataColumnar or @DataIndexed.");
+		}
+		// A class which is still being scanned leads back here, so it holds more than primitives.
+		if (this.componentNullable || !(this.componentDef instanceof ClassDef classDef) || !classDef.isScanned()
+				|| !classDef.getFields().stream().allMatch(field -> field.fieldEntry().type.getBytecodeClass().isPrimitive())) {
+			throw new HyphenException("Only classes with primitive fields can be split into columns, which " + this.component + " is not.", "Remove @DataColumnar, or make the elements non null and their fields primitives.");
+		}
+		this.columns = classDef;
+		for (var field : classDef.getFields()) {
+			this.rowSize += PrimitiveIODef.getSize(field.fieldEntry().type.getBytecodeClass());
+		}
+	}
+
+	@Override
+	public void generateMethods(SerializerGenerator<?, ?> handler) {
+		super.generateMethods(handler);
+		if (this.elementInfo != null) {
+			handler.generateMethod(this.struct, this.elementInfo, false, this::writeMethodGetElement);
+		}
 	}
 
 	public abstract Struct scanComponent(SerializerGenerator<?, ?> handler);
@@ -46,16 +110,29 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 
 	@Override
 	protected void writeMethodGet(MethodWriter mh) {
+		if (columns != null) {
+			writeColumnsGet(mh, columns);
+			return;
+		}
 		final Variable length = mh.addVar("length", int.class);
 
 		if (fixedSize == null) {
 			mh.loadIO();
-			mh.getIO(int.class);
+			mh.getLength(varLength);
 			mh.op(DUP);
 			mh.varOp(ISTORE, length);
 		} else {
 			mh.visitLdcInsn(fixedSize);
 		}
+		if (offsetTable) {
+			// Reading everything in order does not need the offsets or the end.
+			loadLength(mh, length);
+			mh.op(ICONST_1);
+			mh.op(IADD);
+			mh.op(ICONST_2);
+			mh.op(ISHL);
+			mh.skipIO();
+		}
 		mh.typeOp(ANEWARRAY, component.getBytecodeClass());
 		loopArray(mh, length, (i) -> {
 			mh.op(DUP);
@@ -79,6 +156,65 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 		writeGetConverter(mh);
 	}
 
+	@Override
+	protected void writeMethodSkip(MethodWriter mh) {
+		final Variable length = mh.addVar("length", int.class);
+		if (fixedSize == null) {
+			mh.loadIO();
+			mh.getLength(varLength);
+			mh.varOp(ISTORE, length);
+		}
+
+		if (columns != null) {
+			if (rowSize != 0) {
+				loadLength(mh, length);
+				mh.visitLdcInsn(Math.toIntExact(rowSize));
+				mh.op(IMUL);
+				mh.skipIO();
+			}
+			return;
+		}
+
+		if (offsetTable) {
+			// The end offset is the size of all elements.
+			loadLength(mh, length);
+			mh.op(ICONST_2);
+			mh.op(ISHL);
+			mh.skipIO();
+			mh.loadIO();
+			mh.getIO(int.class);
+			mh.skipIO();
+			return;
+		}
+
+		if (!componentNullable && !componentDef.hasDynamicSize()) {
+			long componentSize = componentDef.getStaticSize();
+			if (componentSize != 0) {
+				if (fixedSize == null) {
+					mh.varOp(ILOAD, length);
+					mh.visitLdcInsn(Math.toIntExact(componentSize));
+					mh.op(IMUL);
+					mh.skipIO();
+				} else {
+					mh.skipIO(Math.toIntExact(fixedSize * componentSize));
+				}
+			}
+			return;
+		}
+
+		loopArray(mh, length, (i) -> {
+			if (componentNullable) {
+				mh.loadIO();
+				mh.getIO(byte.class);
+				try (var anIf = new If(mh, IFEQ)) {
+					componentDef.writeSkip(mh);
+				}
+			} else {
+				componentDef.writeSkip(mh);
+			}
+		});
+	}
+
 	@Override
 	protected void writeMethodPut(MethodWriter mh, Runnable valueLoad) {
 		final Variable length = mh.addVar("length", int.class);
@@ -89,14 +225,44 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 			writeLength(mh);
 			mh.op(DUP);
 			mh.varOp(ISTORE, length);
-			mh.putIO(int.class);
+			mh.putLength(varLength);
 		}
 
+		if (columns != null) {
+			writeColumnsPut(mh, columns, valueLoad, length);
+			return;
+		}
+
+		Variable table = null;
+		Variable elements = null;
+		if (offsetTable) {
+			table = mh.addVar("table", int.class);
+			elements = mh.addVar("elements", int.class);
+			// One slot for each offset and one for the end.
+			mh.loadIO();
+			mh.reserveLength();
+			mh.varOp(ISTORE, table);
+			loopArray(mh, length, (i) -> {
+				mh.loadIO();
+				mh.reserveLength();
+				mh.op(POP);
+			});
+			mh.loadIO();
+			mh.getPosition();
+			mh.varOp(ISTORE, elements);
+		}
+
+		final Variable finalTable = table;
+		final Variable finalElements = elements;
 		loopArray(mh, length, (i) -> {
 			Variable entryTemp = mh.addVar("entry", Object.class);
 			loadArrayValue(mh, valueLoad, i);
 			mh.varOp(ISTORE, entryTemp);
 
+			if (offsetTable) {
+				patchOffset(mh, finalTable, finalElements, () -> mh.varOp(ILOAD, i));
+			}
+
 			if (componentNullable) {
 				mh.varOp(ILOAD, entryTemp);
 				try (var anIf = new IfElse(mh, IFNONNULL)) {
@@ -114,26 +280,214 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 				componentDef.writePut(mh, () -> mh.varOp(ILOAD, entryTemp));
 			}
 		});
+
+		if (offsetTable) {
+			patchOffset(mh, table, elements, () -> loadLength(mh, length));
+		}
+	}
+
+	// Gathers each field of all elements into an array and writes it at once.
+	private void writeColumnsPut(MethodWriter mh, ClassDef columns, Runnable valueLoad, Variable length) {
+		// Fields of the same type share an array.
+		final Map<Class<?>, Variable> arrays = new HashMap<>();
+		for (var field : columns.getFields()) {
+			final Class<?> type = field.fieldEntry().type.getBytecodeClass();
+			final Variable column = arrays.computeIfAbsent(type, t -> {
+				final Variable array = mh.addVar("column", t.arrayType());
+				loadLength(mh, length);
+				mh.newArray(t);
+				mh.varOp(ISTORE, array);
+				return array;
+			});
+
+			loopArray(mh, length, (i) -> {
+				mh.varOp(ILOAD, column);
+				mh.varOp(ILOAD, i);
+				columns.loadField(mh, field, () -> loadArrayValue(mh, valueLoad, i));
+				mh.op(Type.getType(type).getOpcode(IASTORE));
+			});
+
+			mh.loadIO();
+			mh.varOp(ILOAD, column);
+			loadLength(mh, length);
+			mh.putIO(type.arrayType());
+		}
+	}
+
+	// Reads every column at once and builds the elements from them.
+	private void writeColumnsGet(MethodWriter mh, ClassDef columns) {
+		final Variable length = mh.addVar("length", int.class);
+		if (fixedSize == null) {
+			mh.loadIO();
+			mh.getLength(varLength);
+			mh.varOp(ISTORE, length);
+		}
+
+		final List<Variable> arrays = new ArrayList<>();
+		for (var field : columns.getFields()) {
+			final Class<?> arrayType = field.fieldEntry().type.getBytecodeClass().arrayType();
+			final Variable column = mh.addVar("column", arrayType);
+			mh.loadIO();
+			loadLength(mh, length);
+			mh.getIO(arrayType);
+			mh.varOp(ISTORE, column);
+			arrays.add(column);
+		}
+
+		loadLength(mh, length);
+		mh.typeOp(ANEWARRAY, component.getBytecodeClass());
+		loopArray(mh, length, (i) -> {
+			mh.op(DUP);
+			mh.varOp(ILOAD, i);
+			columns.writeConstruct(mh, field -> {
+				final Variable column = arrays.get(field);
+				mh.varOp(ILOAD, column);
+				mh.varOp(ILOAD, i);
+				mh.op(column.type().getElementType().getOpcode(IALOAD));
+			});
+			mh.op(AASTORE);
+		});
+
+		writeGetConverter(mh);
+	}
+
+	// Writes the offset of the current position from the first element into the slot at the index.
+	private void patchOffset(MethodWriter mh, Variable table, Variable elements, Runnable indexLoad) {
+		mh.loadIO();
+		mh.varOp(ILOAD, table);
+		indexLoad.run();
+		mh.op(ICONST_2);
+		mh.op(ISHL);
+		mh.op(IADD);
+		mh.loadIO();
+		mh.getPosition();
+		mh.varOp(ILOAD, elements);
+		mh.op(ISUB);
+		mh.patchLength();
+	}
+
+	/**
+	 * Writes the body of the getElement method, which decodes the element at the index of the second parameter.
+	 * Elements of a fixed size are found from their index, others from the offset table.
+	 */
+	protected void writeMethodGetElement(MethodWriter mh) {
+		final Variable length = mh.addVar("length", int.class);
+		if (fixedSize == null) {
+			mh.loadIO();
+			mh.getLength(varLength);
+			mh.varOp(ISTORE, length);
+		}
+		mh.parameterOp(ILOAD, 1);
+		loadLength(mh, length);
+		mh.callInst(INVOKESTATIC, Objects.class, "checkIndex", int.class, int.class, int.class);
+		mh.op(POP);
+
+		if (offsetTable) {
+			mh.parameterOp(ILOAD, 1);
+			mh.op(ICONST_2);
+			mh.op(ISHL);
+			mh.skipIO();
+			mh.loadIO();
+			mh.getIO(int.class);
+			// The rest of the table, including the end.
+			loadLength(mh, length);
+			mh.parameterOp(ILOAD, 1);
+			mh.op(ISUB);
+			mh.op(ICONST_2);
+			mh.op(ISHL);
+			mh.op(IADD);
+			mh.skipIO();
+		} else {
+			long componentSize = componentDef.getStaticSize();
+			if (componentSize != 0) {
+				mh.parameterOp(ILOAD, 1);
+				mh.visitLdcInsn(Math.toIntExact(componentSize));
+				mh.op(IMUL);
+				mh.skipIO();
+			}
+		}
+
+		if (componentNullable) {
+			mh.loadIO();
+			mh.getIO(byte.class);
+			try (var anIf = new IfElse(mh, IFEQ)) {
+				componentDef.writeGet(mh);
+				anIf.elseEnd();
+				mh.op(ACONST_NULL);
+			}
+		} else {
+			componentDef.writeGet(mh);
+		}
+	}
+
+	private void loadLength(MethodWriter mh, Variable length) {
+		if (fixedSize == null) {
+			mh.varOp(ILOAD, length);
+		} else {
+			mh.visitLdcInsn(fixedSize);
+		}
+	}
+
+	/**
+	 * @return if this is annotated with {@link DataIndexed}.
+	 */
+	public boolean isIndexed() {
+		return this.indexed;
+	}
+
+	/**
+	 * @return The method decoding a single element, or null if this is not indexed.
+	 */
+	@Nullable
+	public MethodInfo elementInfo() {
+		return this.elementInfo;
 	}
 
 	@Override
 	public long getStaticSize() {
-		if (this.fixedSize == null) {
-			return 4;
-		} else if (!this.componentNullable) {
-			return this.fixedSize * this.componentDef.getStaticSize();
-		} else {
+		if (this.columns != null) {
+			return this.fixedSize == null ? (varLength ? 0 : 4) : this.fixedSize * this.rowSize;
+		} else if (this.fixedSize == null) {
+			// The end of the offset table.
+			return (varLength ? 0 : 4) + (offsetTable ? 4 : 0);
+		} else if (this.componentDef == null) {
+			// The component leads back here while it is scanned.
 			return 0;
 		}
+
+		long size = offsetTable ? 4L * (this.fixedSize + 1) : 0;
+		if (!this.componentNullable) {
+			size += this.fixedSize * this.componentDef.getStaticSize();
+		}
+		return size;
 	}
 
 	@Override
 	public boolean hasDynamicSize() {
-		return this.fixedSize == null || this.componentDef.hasDynamicSize() || componentNullable;
+		if (this.columns != null) {
+			return this.fixedSize == null;
+		}
+		return this.fixedSize == null || this.componentDef == null || this.componentDef.hasDynamicSize() || componentNullable;
 	}
 
 	@Override
 	protected void writeMethodMeasure(MethodWriter mh, Runnable valueLoad) {
+		if (this.columns != null) {
+			// Only written for a variable length.
+			mh.visitLdcInsn(this.rowSize);
+			valueLoad.run();
+			writeLength(mh);
+			mh.op(I2L);
+			mh.op(LMUL);
+			if (varLength) {
+				valueLoad.run();
+				writeLength(mh);
+				mh.measureVarIO(int.class);
+				mh.op(LADD);
+			}
+			return;
+		}
+
 		if (this.fixedSize == null && !componentNullable) {
 			long componentSize = this.componentDef.getStaticSize();
 
@@ -168,6 +522,12 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 					mh.varOp(ILOAD, entryTemp);
 					try (var anIf = new If(mh, IFNULL)) {
 						componentDef.writeMeasure(mh, () -> loadArrayValue(mh, valueLoad, i));
+						long componentSize = componentDef.getStaticSize();
+						// Nullable elements are not part of the static size, so a dynamic one needs its static part too.
+						if (componentDef.hasDynamicSize() && componentSize != 0) {
+							mh.visitLdcInsn(componentSize);
+							mh.op(LADD);
+						}
 						mh.op(LADD);
 					}
 
@@ -177,6 +537,22 @@ public abstract class IndexedDef<D extends Struct> extends MethodDef<D> {
 				mh.op(LADD);
 			});
 		}
+
+		if (fixedSize == null && varLength) {
+			valueLoad.run();
+			writeLength(mh);
+			mh.measureVarIO(int.class);
+			mh.op(LADD);
+		}
+
+		if (fixedSize == null && offsetTable) {
+			valueLoad.run();
+			writeLength(mh);
+			mh.op(I2L);
+			mh.op(ICONST_2);
+			mh.op(LSHL);
+			mh.op(LADD);
+		}
 	}
 
 	private void loadArrayValue(MethodWriter mh, Runnable valueLoad, Variable i) {
@@ -2,6 +2,7 @@ package dev.notalpha.hyphen.codegen.def;
 
 import dev.notalpha.hyphen.SerializerGenerator;
 import dev.notalpha.hyphen.codegen.MethodWriter;
+import dev.notalpha.hyphen.codegen.Variable;
 import dev.notalpha.hyphen.codegen.statement.While;
 import dev.notalpha.hyphen.scan.struct.ClassStruct;
 import dev.notalpha.hyphen.scan.struct.Struct;
@@ -16,6 +17,8 @@ public class MapDef extends MethodDef<ClassStruct> {
 	private Struct valueStruct;
 	private SerializerDef keyDef;
 	private SerializerDef valueDef;
+	private boolean varLength;
+	private boolean patchedLength;
 
 	public MapDef(Struct clazz) {
 		super((ClassStruct) clazz);
@@ -28,16 +31,28 @@ public class MapDef extends MethodDef<ClassStruct> {
 		this.valueStruct = struct.getParameter("V");
 		this.keyDef = handler.acquireDef(this.keyStruct);
 		this.valueDef = handler.acquireDef(this.valueStruct);
+		this.varLength = useVarInts(handler);
+		this.patchedLength = usePatchedLength(handler, this.varLength);
 		//this.putLambdaMethod = handler.codegenHandler.createMethodInfo(clazz, "$lambda$put", Void.TYPE, handler.ioClass, this.keyClazz.getBytecodeClass(), this.valueClazz.getBytecodeClass());
 	}
 
 	@Override
 	protected void writeMethodPut(MethodWriter mh, Runnable valueLoad) {
-		valueLoad.run();
-		mh.loadIO();
-		mh.op(DUP2, SWAP);
-		mh.callInst(INVOKEINTERFACE, Map.class, "size", int.class);
-		mh.putIO(int.class);
+		Variable lengthPos = null;
+		Variable length = null;
+		if (patchedLength) {
+			lengthPos = mh.addVar("lengthPos", int.class);
+			length = mh.addVar("length", int.class, ICONST_0);
+			mh.loadIO();
+			mh.reserveLength();
+			mh.varOp(ISTORE, lengthPos);
+		} else {
+			valueLoad.run();
+			mh.loadIO();
+			mh.op(DUP2, SWAP);
+			mh.callInst(INVOKEINTERFACE, Map.class, "size", int.class);
+			mh.putLength(varLength);
+		}
 
 		// add dynamic sizes
 		var iterator = mh.addVar("iterator", Iterator.class);
@@ -70,6 +85,15 @@ public class MapDef extends MethodDef<ClassStruct> {
 				mh.callInst(INVOKEINTERFACE, Map.Entry.class, "getValue", Object.class);
 				GenUtil.ensureCasted(mh, this.valueStruct, Object.class);
 			});
+			if (patchedLength) {
+				mh.inc(length, 1);
+			}
+		}
+
+		if (patchedLength) {
+			mh.loadIO();
+			mh.varOp(ILOAD, lengthPos, length);
+			mh.patchLength();
 		}
 	}
 
@@ -81,7 +105,7 @@ public class MapDef extends MethodDef<ClassStruct> {
 		mh.typeOp(NEW, HashMap.class);
 		mh.op(DUP);
 		mh.loadIO();
-		mh.getIO(int.class);
+		mh.getLength(varLength);
 		mh.op(DUP);
 		mh.varOp(ISTORE, length);
 		mh.callInst(INVOKESPECIAL, HashMap.class, "<init>", Void.TYPE, int.class);
@@ -103,6 +127,33 @@ public class MapDef extends MethodDef<ClassStruct> {
 		}
 	}
 
+	@Override
+	protected void writeMethodSkip(MethodWriter mh) {
+		mh.loadIO();
+		mh.getLength(varLength);
+		if (!this.keyDef.hasDynamicSize() && !this.valueDef.hasDynamicSize()) {
+			long staticSize = this.keyDef.getStaticSize() + this.valueDef.getStaticSize();
+			if (staticSize != 0) {
+				mh.visitLdcInsn(Math.toIntExact(staticSize));
+				mh.op(IMUL);
+				mh.skipIO();
+			} else {
+				mh.op(POP);
+			}
+			return;
+		}
+
+		var length = mh.addVar("length", int.class);
+		mh.varOp(ISTORE, length);
+		try (var anFor = While.create(mh)) {
+			mh.varOp(ILOAD, length);
+			anFor.exit(IFLE);
+			this.keyDef.writeSkip(mh);
+			this.valueDef.writeSkip(mh);
+			mh.inc(length, -1);
+		}
+	}
+
 	@Override
 	protected void writeMethodMeasure(MethodWriter mh, Runnable valueLoad) {
 		int x = (this.keyDef.hasDynamicSize() ? 1 : 0) | (this.valueDef.hasDynamicSize() ? 2 : 0);
@@ -178,10 +229,17 @@ public class MapDef extends MethodDef<ClassStruct> {
 				mh.op(LADD);
 			}
 		}
+
+		if (varLength) {
+			valueLoad.run();
+			mh.callInst(INVOKEINTERFACE, Map.class, "size", int.class);
+			mh.measureVarIO(int.class);
+			mh.op(LADD);
+		}
 	}
 
 	@Override
 	public long getStaticSize() {
-		return 4; // size of the map
+		return varLength ? 0 : 4; // size of the map
 	}
 }
\ No newline at end of file
@@ -16,6 +16,8 @@ public abstract class MethodDef<D extends Struct> extends SerializerDef<D> {
 	private MethodInfo putInfo;
 	@Nullable
 	private MethodInfo measureInfo;
+	@Nullable
+	private MethodInfo skipInfo;
 	public final String suffix;
 
 	public MethodDef(D struct) {
@@ -41,6 +43,10 @@ public abstract class MethodDef<D extends Struct> extends SerializerDef<D> {
 		if (!handler.isEnabled(Options.DISABLE_MEASURE) && this.hasDynamicSize()) {
 			this.measureInfo = handler.createMethodInfo(struct, "measure", suffix, long.class, definedClass);
 		}
+		// Like measure, a fixed size gets skipped without a method.
+		if (!handler.isEnabled(Options.DISABLE_GET) && this.hasDynamicSize()) {
+			this.skipInfo = handler.createMethodInfo(struct, "skip", suffix, Void.TYPE, handler.ioClass);
+		}
 
 	}
 
@@ -50,6 +56,14 @@ public abstract class MethodDef<D extends Struct> extends SerializerDef<D> {
 
 	protected abstract void writeMethodMeasure(MethodWriter mh, Runnable valueLoad);
 
+	/**
+	 * Writes the body of the skip method, which decodes the value and drops it unless this is overridden.
+	 */
+	protected void writeMethodSkip(MethodWriter mh) {
+		writeMethodGet(mh);
+		mh.pop(struct.getValueClass());
+	}
+
 	@Override
 	public void writePut(MethodWriter mh, Runnable valueLoad) {
 		mh.loadIO();
@@ -63,8 +77,23 @@ public abstract class MethodDef<D extends Struct> extends SerializerDef<D> {
 		mh.callInst(getInfo);
 	}
 
+	@Override
+	public void writeSkip(MethodWriter mh) {
+		if (skipInfo == null) {
+			super.writeSkip(mh);
+			return;
+		}
+		mh.loadIO();
+		mh.callInst(skipInfo);
+	}
+
 	@Override
 	public void writeMeasure(MethodWriter mh, Runnable valueLoad) {
+		if (measureInfo == null) {
+			// There is no measure method for fixed sizes.
+			super.writeMeasure(mh, valueLoad);
+			return;
+		}
 		valueLoad.run();
 		mh.callInst(measureInfo);
 	}
@@ -81,6 +110,10 @@ public abstract class MethodDef<D extends Struct> extends SerializerDef<D> {
 		if (this.measureInfo != null) {
 			handler.generateMethod(this.struct, this.measureInfo, false, mh -> this.writeMethodMeasure(mh, () -> mh.parameterOp(ILOAD, 0)));
 		}
+
+		if (this.skipInfo != null) {
+			handler.generateMethod(this.struct, this.skipInfo, false, this::writeMethodSkip);
+		}
 	}
 
 	@Nullable
@@ -97,4 +130,9 @@ public abstract class MethodDef<D extends Struct> extends SerializerDef<D> {
 	public MethodInfo measureInfo() {
 		return measureInfo;
 	}
+
+	@Nullable
+	public MethodInfo skipInfo() {
+		return skipInfo;
+	}
 }
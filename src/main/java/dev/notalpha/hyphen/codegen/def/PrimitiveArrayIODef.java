@@ -1,5 +1,6 @@
 package dev.notalpha.hyphen.codegen.def;
 
+import dev.notalpha.hyphen.SerializerGenerator;
 import dev.notalpha.hyphen.codegen.MethodWriter;
 import dev.notalpha.hyphen.scan.annotations.DataFixedArraySize;
 import dev.notalpha.hyphen.scan.struct.Struct;
@@ -9,6 +10,7 @@ import static org.objectweb.asm.Opcodes.*;
 public class PrimitiveArrayIODef extends SerializerDef<Struct> {
 	protected final Class<?> primitiveArray;
 	protected final Integer fixedSize;
+	protected boolean varLength;
 
 	public PrimitiveArrayIODef(Struct clazz) {
 		super(clazz);
@@ -18,6 +20,12 @@ public class PrimitiveArrayIODef extends SerializerDef<Struct> {
 		this.fixedSize = annotation != null ? annotation.value() : null;
 	}
 
+	@Override
+	public void scan(SerializerGenerator<?, ?> handler) {
+		super.scan(handler);
+		this.varLength = useVarInts(handler);
+	}
+
 	@Override
 	public void writePut(MethodWriter mh, Runnable valueLoad) {
 		mh.loadIO();
@@ -26,7 +34,7 @@ public class PrimitiveArrayIODef extends SerializerDef<Struct> {
 			mh.op(DUP, ARRAYLENGTH, DUP);
 			mh.loadIO();
 			mh.op(SWAP);
-			mh.putIO(int.class);
+			mh.putLength(varLength);
 		} else {
 			mh.visitLdcInsn(fixedSize);
 		}
@@ -38,23 +46,58 @@ public class PrimitiveArrayIODef extends SerializerDef<Struct> {
 		mh.loadIO();
 		if (fixedSize == null) {
 			mh.op(DUP);
-			mh.getIO(int.class);
+			mh.getLength(varLength);
 		} else {
 			mh.visitLdcInsn(fixedSize);
 		}
 		mh.getIO(this.primitiveArray);
 	}
 
+	@Override
+	public void writeSkip(MethodWriter mh) {
+		if (fixedSize != null) {
+			super.writeSkip(mh);
+			return;
+		}
+		int size = PrimitiveIODef.getSize(this.primitiveArray.getComponentType());
+		mh.loadIO();
+		mh.getLength(varLength);
+		if (size != 1) {
+			mh.visitLdcInsn(Integer.numberOfTrailingZeros(size));
+			mh.op(ISHL);
+		}
+		mh.skipIO();
+	}
+
 	@Override
 	public void writeMeasure(MethodWriter mh, Runnable valueLoad) {
+		if (fixedSize != null) {
+			super.writeMeasure(mh, valueLoad);
+			return;
+		}
 		int size = PrimitiveIODef.getSize(this.primitiveArray.getComponentType());
 
 		valueLoad.run();
 		mh.op(ARRAYLENGTH, I2L, ICONST_0 + Integer.numberOfTrailingZeros(size), LSHL);
+		if (varLength) {
+			valueLoad.run();
+			mh.op(ARRAYLENGTH);
+			mh.measureVarIO(int.class);
+			mh.op(LADD);
+		}
 	}
 
 	@Override
 	public long getStaticSize() {
-		return fixedSize == null ? 4 : 0;
+		if (fixedSize != null) {
+			// Exactly this many elements get written, whatever the length of the array is.
+			return (long) fixedSize * PrimitiveIODef.getSize(this.primitiveArray.getComponentType());
+		}
+		return varLength ? 0 : 4;
+	}
+
+	@Override
+	public boolean hasDynamicSize() {
+		return fixedSize == null;
 	}
 }
@@ -1,15 +1,29 @@
 package dev.notalpha.hyphen.codegen.def;
 
+import dev.notalpha.hyphen.SerializerGenerator;
 import dev.notalpha.hyphen.codegen.MethodWriter;
+import dev.notalpha.hyphen.io.IOInterface;
 import dev.notalpha.hyphen.scan.struct.ClassStruct;
 import dev.notalpha.hyphen.scan.struct.Struct;
 
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+
 public class PrimitiveIODef extends SerializerDef<Struct> {
 	protected final Class<?> primitive;
 	protected final int size;
+	// ints and longs written as zigzag encoded varints
+	protected boolean varInt;
 
 	public PrimitiveIODef(Class<?> primitive) {
-		super(new ClassStruct(primitive));
+		this(new ClassStruct(primitive), primitive);
+	}
+
+	public PrimitiveIODef(Struct struct) {
+		this(struct, struct.getValueClass());
+	}
+
+	protected PrimitiveIODef(Struct struct, Class<?> primitive) {
+		super(struct);
 		this.primitive = primitive;
 		size = getSize(primitive);
 	}
@@ -28,26 +42,65 @@ public class PrimitiveIODef extends SerializerDef<Struct> {
 		}
 	}
 
+	@Override
+	public void scan(SerializerGenerator<?, ?> handler) {
+		super.scan(handler);
+		this.varInt = (this.primitive == int.class || this.primitive == long.class) && useVarInts(handler);
+	}
+
 	@Override
 	public void writePut(MethodWriter mh, Runnable valueLoad) {
 		mh.loadIO();
 		valueLoad.run();
-		mh.putIO(this.primitive);
+		if (this.varInt) {
+			mh.callInst(INVOKESTATIC, IOInterface.class, "encodeZigZag", this.primitive, this.primitive);
+			mh.putVarIO(this.primitive);
+		} else {
+			mh.putIO(this.primitive);
+		}
 	}
 
 	@Override
 	public void writeGet(MethodWriter mh) {
 		mh.loadIO();
-		mh.getIO(this.primitive);
+		if (this.varInt) {
+			mh.getVarIO(this.primitive);
+			mh.callInst(INVOKESTATIC, IOInterface.class, "decodeZigZag", this.primitive, this.primitive);
+		} else {
+			mh.getIO(this.primitive);
+		}
+	}
+
+	@Override
+	public void writeSkip(MethodWriter mh) {
+		if (this.varInt) {
+			// The length of a varint is only known by reading it.
+			mh.loadIO();
+			mh.getVarIO(this.primitive);
+			mh.pop(this.primitive);
+		} else {
+			super.writeSkip(mh);
+		}
+	}
+
+	@Override
+	public void writeMeasure(MethodWriter mh, Runnable valueLoad) {
+		if (this.varInt) {
+			valueLoad.run();
+			mh.callInst(INVOKESTATIC, IOInterface.class, "encodeZigZag", this.primitive, this.primitive);
+			mh.measureVarIO(this.primitive);
+		} else {
+			super.writeMeasure(mh, valueLoad);
+		}
 	}
 
 	@Override
 	public long getStaticSize() {
-		return this.size;
+		return this.varInt ? 0 : this.size;
 	}
 
 	@Override
 	public boolean hasDynamicSize() {
-		return false;
+		return this.varInt;
 	}
 }
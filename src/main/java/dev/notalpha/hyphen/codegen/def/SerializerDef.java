@@ -1,7 +1,10 @@
 package dev.notalpha.hyphen.codegen.def;
 
+import dev.notalpha.hyphen.Options;
 import dev.notalpha.hyphen.SerializerGenerator;
 import dev.notalpha.hyphen.codegen.MethodWriter;
+import dev.notalpha.hyphen.io.IOPatchInterface;
+import dev.notalpha.hyphen.scan.annotations.DataVarInt;
 import dev.notalpha.hyphen.scan.struct.Struct;
 
 /**
@@ -38,6 +41,24 @@ public abstract class SerializerDef<D extends Struct> {
 	 */
 	public abstract void writeGet(MethodWriter mh);
 
+	/**
+	 * Writes code for moving the IO past an encoded value without decoding it. <br>
+	 * Values without a dynamic size are skipped at once, others are decoded and dropped unless the definition knows better.
+	 *
+	 * @param mh A MethodHandler
+	 */
+	public void writeSkip(MethodWriter mh) {
+		if (!hasDynamicSize()) {
+			long size = getStaticSize();
+			if (size != 0) {
+				mh.skipIO(Math.toIntExact(size));
+			}
+		} else {
+			writeGet(mh);
+			mh.pop(struct.getBytecodeClass());
+		}
+	}
+
 	/**
 	 * Writes code for measuring the size required to encode the value
 	 *
@@ -72,6 +93,30 @@ public abstract class SerializerDef<D extends Struct> {
 		return true;
 	}
 
+	/**
+	 * @return if ints, longs and lengths of this definition should be written as variable length integers.
+	 */
+	protected boolean useVarInts(SerializerGenerator<?, ?> handler) {
+		return handler.isEnabled(Options.VAR_INTS) || struct.isAnnotationPresent(DataVarInt.class);
+	}
+
+	/**
+	 * @return if a length should be counted while writing and filled in afterwards, see {@link Options#PATCHED_LENGTHS}.
+	 */
+	protected boolean usePatchedLength(SerializerGenerator<?, ?> handler, boolean varLength) {
+		return !varLength && handler.isEnabled(Options.PATCHED_LENGTHS) && IOPatchInterface.class.isAssignableFrom(handler.ioClass);
+	}
+
+	/**
+	 * Describes everything the generated code depends on, which is used to fingerprint a serializer. <br>
+	 * Definitions whose code depends on more than the struct, like the fields of a class, should append that too.
+	 *
+	 * @param builder The description to append to
+	 */
+	public void describe(StringBuilder builder) {
+		builder.append(getClass().getName()).append(' ').append(struct.getValueClass().getName()).append(' ').append(struct);
+	}
+
 	public boolean isScanned() {
 		return isScanned;
 	}
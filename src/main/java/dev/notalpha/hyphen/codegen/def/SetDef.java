@@ -2,6 +2,7 @@ package dev.notalpha.hyphen.codegen.def;
 
 import dev.notalpha.hyphen.SerializerGenerator;
 import dev.notalpha.hyphen.codegen.MethodWriter;
+import dev.notalpha.hyphen.codegen.Variable;
 import dev.notalpha.hyphen.codegen.statement.While;
 import dev.notalpha.hyphen.scan.struct.ClassStruct;
 import dev.notalpha.hyphen.scan.struct.Struct;
@@ -16,6 +17,8 @@ import static org.objectweb.asm.Opcodes.*;
 public class SetDef extends MethodDef<ClassStruct> {
 	private Struct key;
 	private SerializerDef keyDef;
+	private boolean varLength;
+	private boolean patchedLength;
 
 	public SetDef(Struct clazz) {
 		super((ClassStruct) clazz);
@@ -26,15 +29,27 @@ public class SetDef extends MethodDef<ClassStruct> {
 		super.scan(handler);
 		this.key = struct.getParameter("E");
 		this.keyDef = handler.acquireDef(key);
+		this.varLength = useVarInts(handler);
+		this.patchedLength = usePatchedLength(handler, this.varLength);
 	}
 
 	@Override
 	protected void writeMethodPut(MethodWriter mh, Runnable valueLoad) {
-		valueLoad.run();
-		mh.loadIO();
-		mh.op(DUP2, SWAP);
-		mh.callInst(INVOKEINTERFACE, Set.class, "size", int.class);
-		mh.putIO(int.class);
+		Variable lengthPos = null;
+		Variable length = null;
+		if (patchedLength) {
+			lengthPos = mh.addVar("lengthPos", int.class);
+			length = mh.addVar("length", int.class, ICONST_0);
+			mh.loadIO();
+			mh.reserveLength();
+			mh.varOp(ISTORE, lengthPos);
+		} else {
+			valueLoad.run();
+			mh.loadIO();
+			mh.op(DUP2, SWAP);
+			mh.callInst(INVOKEINTERFACE, Set.class, "size", int.class);
+			mh.putLength(varLength);
+		}
 
 		var iterator = mh.addVar("iterator", Iterator.class);
 		var entry = mh.addVar("value", Object.class);
@@ -55,6 +70,15 @@ public class SetDef extends MethodDef<ClassStruct> {
 			mh.varOp(ISTORE, entry);
 
 			this.keyDef.writePut(mh, () -> mh.varOp(ILOAD, entry));
+			if (patchedLength) {
+				mh.inc(length, 1);
+			}
+		}
+
+		if (patchedLength) {
+			mh.loadIO();
+			mh.varOp(ILOAD, lengthPos, length);
+			mh.patchLength();
 		}
 	}
 
@@ -66,7 +90,7 @@ public class SetDef extends MethodDef<ClassStruct> {
 		mh.typeOp(NEW, HashSet.class);
 		mh.op(DUP);
 		mh.loadIO();
-		mh.getIO(int.class);
+		mh.getLength(varLength);
 		mh.op(DUP);
 		mh.varOp(ISTORE, length);
 		mh.callInst(INVOKESPECIAL, HashSet.class, "<init>", Void.TYPE, int.class);
@@ -87,18 +111,45 @@ public class SetDef extends MethodDef<ClassStruct> {
 		}
 	}
 
+	@Override
+	protected void writeMethodSkip(MethodWriter mh) {
+		mh.loadIO();
+		mh.getLength(varLength);
+		if (!this.keyDef.hasDynamicSize()) {
+			long staticSize = this.keyDef.getStaticSize();
+			if (staticSize != 0) {
+				mh.visitLdcInsn(Math.toIntExact(staticSize));
+				mh.op(IMUL);
+				mh.skipIO();
+			} else {
+				mh.op(POP);
+			}
+			return;
+		}
+
+		var length = mh.addVar("length", int.class);
+		mh.varOp(ISTORE, length);
+		try (var anFor = While.create(mh)) {
+			mh.varOp(ILOAD, length);
+			anFor.exit(IFLE);
+			this.keyDef.writeSkip(mh);
+			mh.inc(length, -1);
+		}
+	}
+
 	@Override
 	protected void writeMethodMeasure(MethodWriter mh, Runnable valueLoad) {
 		boolean hasDynamic = this.keyDef.hasDynamicSize();
 
 		long staticSize = this.keyDef.getStaticSize();
 		if (staticSize == 0) {
-			mh.op(ICONST_0);
+			mh.op(LCONST_0);
 		} else {
 			valueLoad.run();
 			mh.callInst(INVOKEINTERFACE, Set.class, "size", int.class);
+			mh.op(I2L);
 			mh.visitLdcInsn(staticSize);
-			mh.op(IMUL);
+			mh.op(LMUL);
 		}
 
 		if (hasDynamic) {
@@ -122,10 +173,17 @@ public class SetDef extends MethodDef<ClassStruct> {
 				mh.op(LADD);
 			}
 		}
+
+		if (varLength) {
+			valueLoad.run();
+			mh.callInst(INVOKEINTERFACE, Set.class, "size", int.class);
+			mh.measureVarIO(int.class);
+			mh.op(LADD);
+		}
 	}
 
 	@Override
 	public long getStaticSize() {
-		return 4;
+		return varLength ? 0 : 4;
 	}
 }
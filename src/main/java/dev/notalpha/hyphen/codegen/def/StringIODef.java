@@ -1,22 +1,54 @@
 package dev.notalpha.hyphen.codegen.def;
 
+import dev.notalpha.hyphen.SerializerGenerator;
 import dev.notalpha.hyphen.codegen.MethodWriter;
+import dev.notalpha.hyphen.codegen.Variable;
 import dev.notalpha.hyphen.io.UnsafeIO;
+import dev.notalpha.hyphen.io.Utf8;
 import dev.notalpha.hyphen.scan.struct.ClassStruct;
 import dev.notalpha.hyphen.scan.struct.Struct;
 
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
-
 import static org.objectweb.asm.Opcodes.*;
 
 public class StringIODef extends SerializerDef<Struct> {
+	// Writes the UTF-8 bytes with a variable length prefix instead of using the IO string methods.
+	private boolean varLength;
+
 	public StringIODef() {
 		super(new ClassStruct(String.class));
 	}
 
+	public StringIODef(Struct struct) {
+		super(struct);
+	}
+
+	@Override
+	public void scan(SerializerGenerator<?, ?> handler) {
+		super.scan(handler);
+		this.varLength = useVarInts(handler);
+	}
+
 	@Override
 	public void writePut(MethodWriter mh, Runnable valueLoad) {
+		if (varLength) {
+			// The length is counted first, then the string is encoded straight into the IO.
+			final Variable string = mh.addVar("string", String.class);
+			final Variable length = mh.addVar("stringLength", int.class);
+			valueLoad.run();
+			mh.op(DUP);
+			mh.varOp(ISTORE, string);
+			mh.callInst(INVOKESTATIC, Utf8.class, "length", int.class, String.class);
+			mh.varOp(ISTORE, length);
+
+			mh.loadIO();
+			mh.varOp(ILOAD, length);
+			mh.putVarIO(int.class);
+
+			mh.loadIO();
+			mh.varOp(ILOAD, string, length);
+			mh.callInst(mh.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, mh.ioClass, "putUtf8", Void.TYPE, String.class, int.class);
+			return;
+		}
 		mh.loadIO();
 		valueLoad.run();
 		mh.callInst(INVOKEVIRTUAL, mh.ioClass, "putString", Void.TYPE, String.class);
@@ -24,20 +56,45 @@ public class StringIODef extends SerializerDef<Struct> {
 
 	@Override
 	public void writeGet(MethodWriter mh) {
+		if (varLength) {
+			mh.loadIO();
+			mh.loadIO();
+			mh.getVarIO(int.class);
+			mh.callInst(mh.ioClass.isInterface() ? INVOKEINTERFACE : INVOKEVIRTUAL, mh.ioClass, "getUtf8", String.class, int.class);
+			return;
+		}
 		mh.loadIO();
 		mh.callInst(INVOKEVIRTUAL, mh.ioClass, "getString", String.class);
 	}
 
+	@Override
+	public void writeSkip(MethodWriter mh) {
+		if (varLength) {
+			mh.loadIO();
+			mh.getVarIO(int.class);
+			mh.skipIO();
+			return;
+		}
+		mh.loadIO();
+		mh.callInst(INVOKEVIRTUAL, mh.ioClass, "skipString", Void.TYPE);
+	}
+
 	@Override
 	public void writeMeasure(MethodWriter mh, Runnable valueLoad) {
 		valueLoad.run();
-		if (mh.ioClass == UnsafeIO.class) {
+		if (varLength) {
+			mh.callInst(INVOKESTATIC, Utf8.class, "length", int.class, String.class);
+			// LENGTH | LENGTH SIZE -> LENGTH SIZE | LENGTH
+			mh.op(DUP);
+			mh.measureVarIO(int.class);
+			mh.op(DUP2_X1, POP2, I2L, LADD);
+		} else if (mh.ioClass == UnsafeIO.class) {
 			mh.callInst(INVOKESTATIC, UnsafeIO.class, "getStringBytes", int.class, String.class);
+			mh.op(I2L);
 		} else {
-			// kinda bad for speed, but it's kinda our only option here
-			mh.visitFieldInsn(GETSTATIC, StandardCharsets.class, "UTF_8", Charset.class);
-			mh.callInst(INVOKEVIRTUAL, String.class, "getBytes", byte[].class, Charset.class);
-			mh.op(ARRAYLENGTH, I2L);
+			// Counts the UTF-8 bytes without encoding, put encodes the string only once.
+			mh.callInst(INVOKESTATIC, Utf8.class, "length", int.class, String.class);
+			mh.op(I2L);
 			mh.visitLdcInsn(4L);
 			mh.op(LADD);
 		}
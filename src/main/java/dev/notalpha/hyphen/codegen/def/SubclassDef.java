@@ -11,6 +11,7 @@ import dev.notalpha.hyphen.scan.struct.WildcardStruct;
 import dev.notalpha.hyphen.thr.HyphenException;
 import dev.notalpha.hyphen.util.ArrayUtil;
 import dev.notalpha.hyphen.util.GenUtil;
+import org.jetbrains.annotations.Nullable;
 import org.objectweb.asm.Type;
 
 import java.util.Arrays;
@@ -21,7 +22,10 @@ import static org.objectweb.asm.Opcodes.*;
 public final class SubclassDef extends MethodDef<Struct> {
 	private final Class<?>[] subClasses;
 	private SerializerDef<?>[] subDefs;
-	private boolean allSameStaticSize;
+	private SerializerGenerator<?, ?> handler;
+	// A subclass may contain this definition again, so this is only known once everything is scanned.
+	@Nullable
+	private volatile Boolean allSameStaticSize;
 
 	public SubclassDef(Struct clazz, Class<?>[] subClasses) {
 		super(clazz, "SUB{ # " + Arrays.stream(subClasses).map(Class::getSimpleName).collect(Collectors.joining(", ")) + "}");
@@ -29,11 +33,12 @@ public final class SubclassDef extends MethodDef<Struct> {
 	}
 
 	public void scan(SerializerGenerator<?, ?> handler) {
+		this.handler = handler;
 		boolean skipFailedSubclasses = false;
 		Struct targetStruct;
 		if (struct instanceof WildcardStruct wildcardStruct) {
 			if (wildcardStruct.lowerBound != null) {
-				if (subDefs.length > 0) {
+				if (subClasses.length > 0) {
 					throw new HyphenException("Lower bounded wildcards do not support additional subclasses", "Remove the annotation or do not use a lower bound (super)");
 				}
 
@@ -62,15 +67,35 @@ public final class SubclassDef extends MethodDef<Struct> {
 		);
 
 		super.scan(handler);
-		long size = this.subDefs[0].getStaticSize();
+	}
+
+	private boolean allSameStaticSize() {
+		Boolean allSameStaticSize = this.allSameStaticSize;
+		if (allSameStaticSize != null) {
+			return allSameStaticSize;
+		}
+		if (this.subDefs == null || this.subDefs.length == 0 || this.handler.isScanning()) {
+			return false;
+		}
 
+		allSameStaticSize = true;
+		long size = this.subDefs[0].getStaticSize();
 		for (int i = 1; i < this.subDefs.length; i++) {
 			if (size != this.subDefs[i].getStaticSize()) {
-				this.allSameStaticSize = false;
-				return;
+				allSameStaticSize = false;
+				break;
 			}
 		}
-		this.allSameStaticSize = true;
+		this.allSameStaticSize = allSameStaticSize;
+		return allSameStaticSize;
+	}
+
+	@Override
+	public void describe(StringBuilder builder) {
+		super.describe(builder);
+		for (Class<?> subClass : subClasses) {
+			builder.append(' ').append(subClass.getName());
+		}
 	}
 
 	@Override
@@ -89,6 +114,20 @@ public final class SubclassDef extends MethodDef<Struct> {
 		mh.op(ACONST_NULL);
 	}
 
+	@Override
+	protected void writeMethodSkip(MethodWriter mh) {
+		mh.loadIO();
+		mh.getIO(byte.class);
+		try (var tableSwitch = new TableSwitch(mh, 0, this.subDefs.length)) {
+			tableSwitch.labels(value -> {
+				this.subDefs[value].writeSkip(mh);
+				mh.op(RETURN);
+			});
+
+			tableSwitch.defaultLabel();
+		}
+	}
+
 	@Override
 	protected void writeMethodPut(MethodWriter mh, Runnable valueLoad) {
 		iterClasses(mh, valueLoad, (clz, serializerDef, i) -> {
@@ -107,6 +146,7 @@ public final class SubclassDef extends MethodDef<Struct> {
 
 	@Override
 	protected void writeMethodMeasure(MethodWriter mh, Runnable valueLoad) {
+		boolean allSameStaticSize = this.allSameStaticSize();
 		iterClasses(mh, valueLoad, (clz, serializerDef, i) -> {
 			if (serializerDef.hasDynamicSize()) {
 				serializerDef.writeMeasure(mh, () -> {
@@ -115,7 +155,7 @@ public final class SubclassDef extends MethodDef<Struct> {
 				});
 			}
 			long ss = serializerDef.getStaticSize();
-			if (!this.allSameStaticSize && ss != 0) {
+			if (!allSameStaticSize && ss != 0) {
 				mh.visitLdcInsn(ss);
 				if (serializerDef.hasDynamicSize()) {
 					mh.op(LADD);
@@ -145,10 +185,10 @@ public final class SubclassDef extends MethodDef<Struct> {
 
 	@Override
 	public long getStaticSize() {
-		if (this.subDefs.length == 0) {
+		if (this.subClasses.length == 0) {
 			return 0;
 		}
-		if (this.allSameStaticSize) {
+		if (this.allSameStaticSize()) {
 			return this.subDefs[0].getStaticSize() + 1;
 		}
 		return 1;
@@ -156,10 +196,10 @@ public final class SubclassDef extends MethodDef<Struct> {
 
 	@Override
 	public boolean hasDynamicSize() {
-		if (this.subDefs.length == 0) {
+		if (this.subClasses.length == 0) {
 			return false;
 		}
-		if (!this.allSameStaticSize) {
+		if (!this.allSameStaticSize()) {
 			return true;
 		}
 
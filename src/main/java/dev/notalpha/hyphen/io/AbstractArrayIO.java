@@ -0,0 +1,468 @@
+package dev.notalpha.hyphen.io;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The shared logic of {@link ArrayIO} and {@link GrowableArrayIO}. <br>
+ * Multibyte values are accessed through little endian {@link VarHandle} views, so every value is a single wide load or store.
+ */
+abstract class AbstractArrayIO implements IOPatchInterface, IOBufferInterface {
+	static final VarHandle CHAR = MethodHandles.byteArrayViewVarHandle(char[].class, ByteOrder.LITTLE_ENDIAN);
+	static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+	static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+	static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+	static final VarHandle FLOAT = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+	static final VarHandle DOUBLE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+	protected byte[] bytes;
+	protected int pos;
+
+	protected AbstractArrayIO(final byte[] bytes, final int pos) {
+		this.bytes = bytes;
+		this.pos = pos;
+	}
+
+	/**
+	 * Called before writing {@code size} bytes. {@link ArrayIO} leaves the check to the array, {@link GrowableArrayIO} grows it.
+	 */
+	protected abstract void ensure(int size);
+
+
+	// ======================================= FUNC ======================================= //
+	@Override
+	public final void rewind() {
+		pos = 0;
+	}
+
+
+	@Override
+	public final int pos() {
+		return pos;
+	}
+
+	@Override
+	public final void seek(final int pos) {
+		Objects.checkIndex(pos, this.bytes.length + 1);
+		this.pos = pos;
+	}
+
+	@Override
+	public final int reserveInt() {
+		ensureRemaining(4);
+		final int slot = pos;
+		pos += 4;
+		return slot;
+	}
+
+	@Override
+	public final void patchInt(final int pos, final int value) {
+		INT.set(bytes, pos, value);
+	}
+
+	@Override
+	public final void close() {
+		// Hey jvm. GC the array. thx.
+	}
+
+
+	// ======================================== GET ======================================== //
+	@Override
+	public final boolean getBoolean() {
+		return getByte() != 0;
+	}
+
+
+	@Override
+	public final byte getByte() {
+		return bytes[pos++];
+	}
+
+
+	@Override
+	public final char getChar() {
+		final char value = (char) CHAR.get(bytes, pos);
+		pos += 2;
+		return value;
+	}
+
+
+	@Override
+	public final short getShort() {
+		final short value = (short) SHORT.get(bytes, pos);
+		pos += 2;
+		return value;
+	}
+
+
+	@Override
+	public final int getInt() {
+		final int value = (int) INT.get(bytes, pos);
+		pos += 4;
+		return value;
+	}
+
+
+	@Override
+	public final long getLong() {
+		final long value = (long) LONG.get(bytes, pos);
+		pos += 8;
+		return value;
+	}
+
+
+	@Override
+	public final float getFloat() {
+		final float value = (float) FLOAT.get(bytes, pos);
+		pos += 4;
+		return value;
+	}
+
+
+	@Override
+	public final double getDouble() {
+		final double value = (double) DOUBLE.get(bytes, pos);
+		pos += 8;
+		return value;
+	}
+
+
+	@Override
+	public final String getString() {
+		return getUtf8(getInt());
+	}
+
+	@Override
+	public final String getUtf8(final int length) {
+		final String value = new String(bytes, pos, length, StandardCharsets.UTF_8);
+		pos += length;
+		return value;
+	}
+
+	@Override
+	public final void skip(final int length) {
+		Objects.checkFromIndexSize(pos, length, this.bytes.length);
+		pos += length;
+	}
+
+	@Override
+	public final void skipString() {
+		skip(getInt());
+	}
+
+	// ======================================== PUT ======================================== //
+	@Override
+	public final void putBoolean(final boolean value) {
+		putByte((byte) (value ? 1 : 0));
+	}
+
+
+	@Override
+	public final void putByte(final byte value) {
+		ensure(1);
+		bytes[pos++] = value;
+	}
+
+
+	@Override
+	public final void putChar(final char value) {
+		ensure(2);
+		CHAR.set(bytes, pos, value);
+		pos += 2;
+	}
+
+
+	@Override
+	public final void putShort(final short value) {
+		ensure(2);
+		SHORT.set(bytes, pos, value);
+		pos += 2;
+	}
+
+
+	@Override
+	public final void putInt(final int value) {
+		ensure(4);
+		INT.set(bytes, pos, value);
+		pos += 4;
+	}
+
+
+	@Override
+	public final void putLong(final long value) {
+		ensure(8);
+		LONG.set(bytes, pos, value);
+		pos += 8;
+	}
+
+
+	@Override
+	public final void putFloat(final float value) {
+		ensure(4);
+		FLOAT.set(bytes, pos, value);
+		pos += 4;
+	}
+
+
+	@Override
+	public final void putDouble(final double value) {
+		ensure(8);
+		DOUBLE.set(bytes, pos, value);
+		pos += 8;
+	}
+
+
+	@Override
+	public final void putString(final String value) {
+		final int length = Utf8.length(value);
+		putInt(length);
+		putUtf8(value, length);
+	}
+
+	@Override
+	public final void putUtf8(final String value, final int length) {
+		ensure(length);
+		Objects.checkFromIndexSize(pos, length, bytes.length);
+		Utf8.encode(value, bytes, pos);
+		pos += length;
+	}
+
+	// ====================================== BUFFERS ======================================== //
+	/**
+	 * Creates a little endian view over the next {@code size} bytes and moves past them.
+	 */
+	private ByteBuffer view(final int size) {
+		final ByteBuffer view = ByteBuffer.wrap(bytes, pos, size).order(ByteOrder.LITTLE_ENDIAN);
+		pos += size;
+		return view;
+	}
+
+	@Override
+	public void getByteBuffer(ByteBuffer buffer, int length) {
+		buffer.put(bytes, pos, length);
+		pos += length;
+	}
+
+	@Override
+	public void getCharBuffer(CharBuffer buffer, int length) {
+		buffer.put(view(length * 2).asCharBuffer());
+	}
+
+	@Override
+	public void getShortBuffer(ShortBuffer buffer, int length) {
+		buffer.put(view(length * 2).asShortBuffer());
+	}
+
+	@Override
+	public void getIntBuffer(IntBuffer buffer, int length) {
+		buffer.put(view(length * 4).asIntBuffer());
+	}
+
+	@Override
+	public void getLongBuffer(LongBuffer buffer, int length) {
+		buffer.put(view(length * 8).asLongBuffer());
+	}
+
+	@Override
+	public void getFloatBuffer(FloatBuffer buffer, int length) {
+		buffer.put(view(length * 4).asFloatBuffer());
+	}
+
+	@Override
+	public void getDoubleBuffer(DoubleBuffer buffer, int length) {
+		buffer.put(view(length * 8).asDoubleBuffer());
+	}
+
+	@Override
+	public void putByteBuffer(ByteBuffer buffer, int length) {
+		ensure(length);
+		buffer.get(0, bytes, pos, length);
+		pos += length;
+	}
+
+	@Override
+	public void putCharBuffer(CharBuffer buffer, int length) {
+		ensure(length * 2);
+		view(length * 2).asCharBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public void putShortBuffer(ShortBuffer buffer, int length) {
+		ensure(length * 2);
+		view(length * 2).asShortBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public void putIntBuffer(IntBuffer buffer, int length) {
+		ensure(length * 4);
+		view(length * 4).asIntBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public void putLongBuffer(LongBuffer buffer, int length) {
+		ensure(length * 8);
+		view(length * 8).asLongBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public void putFloatBuffer(FloatBuffer buffer, int length) {
+		ensure(length * 4);
+		view(length * 4).asFloatBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public void putDoubleBuffer(DoubleBuffer buffer, int length) {
+		ensure(length * 8);
+		view(length * 8).asDoubleBuffer().put(buffer.slice(0, length));
+	}
+
+
+	// ====================================== GET_ARR ======================================== //
+	@Override
+	public final boolean[] getBooleanArray(final int length) {
+		final boolean[] out = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = bytes[pos + i] == 1;
+		}
+		pos += length;
+		return out;
+	}
+
+
+	@Override
+	public final byte[] getByteArray(final int length) {
+		final byte[] out = new byte[length];
+		System.arraycopy(bytes, pos, out, 0, length);
+		pos += length;
+		return out;
+	}
+
+
+	@Override
+	public final char[] getCharArray(final int length) {
+		final char[] out = new char[length];
+		view(length * 2).asCharBuffer().get(out);
+		return out;
+	}
+
+
+	@Override
+	public final short[] getShortArray(final int length) {
+		final short[] out = new short[length];
+		view(length * 2).asShortBuffer().get(out);
+		return out;
+	}
+
+
+	@Override
+	public final int[] getIntArray(final int length) {
+		final int[] out = new int[length];
+		view(length * 4).asIntBuffer().get(out);
+		return out;
+	}
+
+
+	@Override
+	public final long[] getLongArray(final int length) {
+		final long[] out = new long[length];
+		view(length * 8).asLongBuffer().get(out);
+		return out;
+	}
+
+
+	@Override
+	public final float[] getFloatArray(final int length) {
+		final float[] out = new float[length];
+		view(length * 4).asFloatBuffer().get(out);
+		return out;
+	}
+
+
+	@Override
+	public final double[] getDoubleArray(final int length) {
+		final double[] out = new double[length];
+		view(length * 8).asDoubleBuffer().get(out);
+		return out;
+	}
+
+
+	@Override
+	public final String[] getStringArray(final int length) {
+		final String[] out = new String[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getString();
+		}
+		return out;
+	}
+
+
+	// ====================================== PUT_ARR ======================================== //
+	@Override
+	public final void putBooleanArray(final boolean[] value, final int length) {
+		ensure(length);
+		for (int i = 0; i < length; i++) {
+			bytes[pos + i] = (byte) (value[i] ? 1 : 0);
+		}
+		pos += length;
+	}
+
+
+	@Override
+	public final void putByteArray(final byte[] value, final int length) {
+		ensure(length);
+		System.arraycopy(value, 0, bytes, pos, length);
+		pos += length;
+	}
+
+
+	@Override
+	public final void putCharArray(final char[] value, final int length) {
+		ensure(length * 2);
+		view(length * 2).asCharBuffer().put(value, 0, length);
+	}
+
+
+	@Override
+	public final void putShortArray(final short[] value, final int length) {
+		ensure(length * 2);
+		view(length * 2).asShortBuffer().put(value, 0, length);
+	}
+
+
+	@Override
+	public final void putIntArray(final int[] value, final int length) {
+		ensure(length * 4);
+		view(length * 4).asIntBuffer().put(value, 0, length);
+	}
+
+
+	@Override
+	public final void putLongArray(final long[] value, final int length) {
+		ensure(length * 8);
+		view(length * 8).asLongBuffer().put(value, 0, length);
+	}
+
+
+	@Override
+	public final void putFloatArray(final float[] value, final int length) {
+		ensure(length * 4);
+		view(length * 4).asFloatBuffer().put(value, 0, length);
+	}
+
+
+	@Override
+	public final void putDoubleArray(final double[] value, final int length) {
+		ensure(length * 8);
+		view(length * 8).asDoubleBuffer().put(value, 0, length);
+	}
+
+
+	@Override
+	public final void putStringArray(final String[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putString(value[i]);
+		}
+	}
+}
@@ -2,20 +2,15 @@ package dev.notalpha.hyphen.io;
 
 import dev.notalpha.hyphen.HyphenSerializer;
 
-import java.nio.*;
-import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 
 /**
  * ArrayIO. An IO that internally uses Array.
  */
 @SuppressWarnings({"FinalMethodInFinalClass", "FinalStaticMethod", "unused"})
-public final class ArrayIO implements IOInterface, IOBufferInterface {
-	private final byte[] bytes;
-	private int pos;
-
+public final class ArrayIO extends AbstractArrayIO {
 	private ArrayIO(final byte[] bytes, final int pos) {
-		this.bytes = bytes;
-		this.pos = pos;
+		super(bytes, pos);
 	}
 
 	public static final ArrayIO create(final int size) {
@@ -33,19 +28,13 @@ public final class ArrayIO implements IOInterface, IOBufferInterface {
 
 	// ======================================= FUNC ======================================= //
 	@Override
-	public final void rewind() {
-		pos = 0;
-	}
-
-
-	@Override
-	public final int pos() {
-		return pos;
+	protected final void ensure(final int size) {
+		// Writing past the end fails on its own.
 	}
 
 	@Override
-	public final void close() {
-		// Hey jvm. GC the array. thx.
+	public final void ensureRemaining(final int bytes) {
+		Objects.checkFromIndexSize(pos, bytes, this.bytes.length);
 	}
 
 	public final byte[] export() {
@@ -53,408 +42,83 @@ public final class ArrayIO implements IOInterface, IOBufferInterface {
 	}
 
 
-	// ======================================== GET ======================================== //
-	@Override
-	public final boolean getBoolean() {
-		return getByte() != 0;
-	}
-
-
-	@Override
-	public final byte getByte() {
-		return bytes[pos++];
-	}
-
-	@Override
-	public final char getChar() {
-		final char c = (char) (bytes[pos] & 0xFF | (bytes[pos + 1] & 0xFF) << 8);
-		pos += 2;
-		return c;
-	}
-
-
-	@Override
-	public final short getShort() {
-		final short c = (short) (bytes[pos] & 0xFF | (bytes[pos + 1] & 0xFF) << 8);
-		pos += 2;
-		return c;
-	}
-
-
-	@Override
-	public final int getInt() {
-		final int result = bytes[pos] & 0xFF | (bytes[pos + 1] & 0xFF) << 8 | (bytes[pos + 2] & 0xFF) << 16 | (bytes[pos + 3] & 0xFF) << 24;
-		pos += 4;
-		return result;
-	}
-
-
-	@Override
-	public final long getLong() {
-		final long result =
-				(bytes[pos] & 0xFF | (bytes[pos + 1] & 0xFF) << 8)
-						| (bytes[pos + 2] & 0xFF) << 16 | (long) (bytes[pos + 3] & 0xFF) << 24
-						| (long) (bytes[pos + 4] & 0xFF) << 32 | (long) (bytes[pos + 5] & 0xFF) << 40
-						| (long) (bytes[pos + 6] & 0xFF) << 48 | (long) (bytes[pos + 7] & 0xFF) << 56;
-		pos += 8;
-		return result;
-	}
-
-
-	@Override
-	public final float getFloat() {
-		return Float.intBitsToFloat(getInt());
-	}
-
-
-	@Override
-	public final double getDouble() {
-		return Double.longBitsToDouble(getLong());
-	}
-
-
-	@Override
-	public final String getString() {
-		final int length = getInt();
-		final byte[] byteArray = getByteArray(length);
-		return new String(byteArray, 0, length, StandardCharsets.UTF_8);
-	}
-
-	// ======================================== PUT ======================================== //
-	@Override
-	public final void putBoolean(final boolean value) {
-		putByte((byte) (value ? 1 : 0));
-	}
-
-
-	@Override
-	public final void putByte(final byte value) {
-		bytes[pos++] = value;
-	}
-
-
-	@Override
-	public final void putChar(final char value) {
-		bytes[pos] = (byte) value;
-		bytes[pos + 1] = (byte) (value >>> 8);
-		pos += 2;
-	}
-
-
-	@Override
-	public final void putShort(final short value) {
-		bytes[pos] = (byte) value;
-		bytes[pos + 1] = (byte) (value >>> 8);
-		pos += 2;
-	}
-
-
-	@Override
-	public final void putInt(final int value) {
-		bytes[pos] = (byte) value;
-		bytes[pos + 1] = (byte) (value >>> 8);
-		bytes[pos + 2] = (byte) (value >>> 16);
-		bytes[pos + 3] = (byte) (value >>> 24);
-		pos += 4;
-	}
-
-
-	@Override
-	public final void putLong(final long value) {
-		final int low = (int) value;
-		final int high = (int) (value >>> 32);
-		bytes[pos] = (byte) low;
-		bytes[pos + 1] = (byte) (low >>> 8);
-		bytes[pos + 2] = (byte) (low >>> 16);
-		bytes[pos + 3] = (byte) (low >>> 24);
-		bytes[pos + 4] = (byte) high;
-		bytes[pos + 5] = (byte) (high >>> 8);
-		bytes[pos + 6] = (byte) (high >>> 16);
-		bytes[pos + 7] = (byte) (high >>> 24);
-		pos += 8;
-	}
-
-
-	@Override
-	public final void putFloat(final float value) {
-		putInt(Float.floatToIntBits(value));
-	}
-
-
-	@Override
-	public final void putDouble(final double value) {
-		putLong(Double.doubleToLongBits(value));
-	}
-
-
-	@Override
-	public final void putString(final String value) {
-		final byte[] array = value.getBytes(StandardCharsets.UTF_8);
-		final int length = array.length;
-		putInt(length);
-		putByteArray(array, length);
-	}
-
-
-	@Override
-	public void getByteBuffer(ByteBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			buffer.put(getByte());
-		}
-	}
-
-	@Override
-	public void getCharBuffer(CharBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			buffer.put(getChar());
-		}
-	}
-
-	@Override
-	public void getShortBuffer(ShortBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			buffer.put(getShort());
-		}
-	}
-
-	@Override
-	public void getIntBuffer(IntBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			buffer.put(getInt());
-		}
-	}
-
-	@Override
-	public void getLongBuffer(LongBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			buffer.put(getLong());
-		}
-	}
-
-	@Override
-	public void getFloatBuffer(FloatBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			buffer.put(getFloat());
-		}
-	}
-
-	@Override
-	public void getDoubleBuffer(DoubleBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			buffer.put(getDouble());
-		}
-	}
-
-	@Override
-	public void putByteBuffer(ByteBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			putByte(buffer.get(i));
-		}
-	}
-
-	@Override
-	public void putCharBuffer(CharBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			putChar(buffer.get(i));
-		}
-	}
-
-	@Override
-	public void putShortBuffer(ShortBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			putShort(buffer.get(i));
-		}
-	}
-
-	@Override
-	public void putIntBuffer(IntBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			putInt(buffer.get(i));
-		}
-	}
-
-	@Override
-	public void putLongBuffer(LongBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			putLong(buffer.get(i));
-		}
-	}
-
-	@Override
-	public void putFloatBuffer(FloatBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			putFloat(buffer.get(i));
-		}
-	}
-
-	@Override
-	public void putDoubleBuffer(DoubleBuffer buffer, int length) {
-		for (int i = 0; i < length; i++) {
-			putDouble(buffer.get(i));
-		}
+	// ======================================= CURSOR ======================================= //
+	// Used by generated code with Options.INLINE_IO, the position is kept in a local variable and written back with cursor(int).
+	public final int cursor() {
+		return pos;
 	}
 
-
-	// ====================================== GET_ARR ======================================== //
-	@Override
-	public final boolean[] getBooleanArray(final int length) {
-		final boolean[] out = new boolean[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getByte() == 1;
-		}
-		return out;
+	public final void cursor(final int cursor) {
+		pos = cursor;
 	}
 
-
-	@Override
-	public final byte[] getByteArray(final int length) {
-		final byte[] out = new byte[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getByte();
-		}
-		return out;
+	public static final boolean getBooleanAt(final ArrayIO io, final int cursor) {
+		return io.bytes[cursor] != 0;
 	}
 
-
-	@Override
-	public final char[] getCharArray(final int length) {
-		final char[] out = new char[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getChar();
-		}
-		return out;
+	public static final byte getByteAt(final ArrayIO io, final int cursor) {
+		return io.bytes[cursor];
 	}
 
-
-	@Override
-	public final short[] getShortArray(final int length) {
-		final short[] out = new short[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getShort();
-		}
-		return out;
+	public static final char getCharAt(final ArrayIO io, final int cursor) {
+		return (char) CHAR.get(io.bytes, cursor);
 	}
 
-
-	@Override
-	public final int[] getIntArray(final int length) {
-		final int[] out = new int[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getInt();
-		}
-		return out;
+	public static final short getShortAt(final ArrayIO io, final int cursor) {
+		return (short) SHORT.get(io.bytes, cursor);
 	}
 
-
-	@Override
-	public final long[] getLongArray(final int length) {
-		final long[] out = new long[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getLong();
-		}
-		return out;
+	public static final int getIntAt(final ArrayIO io, final int cursor) {
+		return (int) INT.get(io.bytes, cursor);
 	}
 
-
-	@Override
-	public final float[] getFloatArray(final int length) {
-		final float[] out = new float[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getFloat();
-		}
-		return out;
+	public static final long getLongAt(final ArrayIO io, final int cursor) {
+		return (long) LONG.get(io.bytes, cursor);
 	}
 
-
-	@Override
-	public final double[] getDoubleArray(final int length) {
-		final double[] out = new double[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getDouble();
-		}
-		return out;
+	public static final float getFloatAt(final ArrayIO io, final int cursor) {
+		return (float) FLOAT.get(io.bytes, cursor);
 	}
 
-
-	@Override
-	public final String[] getStringArray(final int length) {
-		final String[] out = new String[length];
-		for (int i = 0; i < length; i++) {
-			out[i] = getString();
-		}
-		return out;
+	public static final double getDoubleAt(final ArrayIO io, final int cursor) {
+		return (double) DOUBLE.get(io.bytes, cursor);
 	}
 
-
-	// ====================================== PUT_ARR ======================================== //
-	@Override
-	public final void putBooleanArray(final boolean[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putByte((byte) (value[i] ? 1 : 0));
-		}
+	public static final void putBooleanAt(final ArrayIO io, final boolean value, final int cursor) {
+		io.bytes[cursor] = (byte) (value ? 1 : 0);
 	}
 
-
-	@Override
-	public final void putByteArray(final byte[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putByte(value[i]);
-		}
+	public static final void putByteAt(final ArrayIO io, final byte value, final int cursor) {
+		io.bytes[cursor] = value;
 	}
 
-
-	@Override
-	public final void putCharArray(final char[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putChar(value[i]);
-		}
+	public static final void putCharAt(final ArrayIO io, final char value, final int cursor) {
+		CHAR.set(io.bytes, cursor, value);
 	}
 
-
-	@Override
-	public final void putShortArray(final short[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putShort(value[i]);
-		}
+	public static final void putShortAt(final ArrayIO io, final short value, final int cursor) {
+		SHORT.set(io.bytes, cursor, value);
 	}
 
-
-	@Override
-	public final void putIntArray(final int[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putInt(value[i]);
-		}
+	public static final void putIntAt(final ArrayIO io, final int value, final int cursor) {
+		INT.set(io.bytes, cursor, value);
 	}
 
-
-	@Override
-	public final void putLongArray(final long[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putLong(value[i]);
-		}
+	public static final void putLongAt(final ArrayIO io, final long value, final int cursor) {
+		LONG.set(io.bytes, cursor, value);
 	}
 
-
-	@Override
-	public final void putFloatArray(final float[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putFloat(value[i]);
-		}
+	public static final void putFloatAt(final ArrayIO io, final float value, final int cursor) {
+		FLOAT.set(io.bytes, cursor, value);
 	}
 
-
-	@Override
-	public final void putDoubleArray(final double[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putDouble(value[i]);
-		}
+	public static final void putDoubleAt(final ArrayIO io, final double value, final int cursor) {
+		DOUBLE.set(io.bytes, cursor, value);
 	}
 
-
-	@Override
-	public final void putStringArray(final String[] value, final int length) {
-		for (int i = 0; i < length; i++) {
-			putString(value[i]);
-		}
+	// Called by generated code with Options.INLINE_IO in front of a run of fixed size values.
+	// The accessors of the run stay checked, C2 drops their range checks as this one dominates them.
+	public static final void checkRemainingAt(final ArrayIO io, final int cursor, final int bytes) {
+		Objects.checkFromIndexSize(cursor, bytes, io.bytes.length);
 	}
 }
@@ -0,0 +1,552 @@
+package dev.notalpha.hyphen.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The shared logic of {@link StreamIO} and {@link ChannelIO}. <br>
+ * All access goes through a fixed-size scratch buffer which gets flushed to the sink when full, or refilled from the source when empty.
+ * Because of that a BufferedIO is either reading or writing and cannot be rewound.
+ */
+abstract class BufferedIO implements IOInterface, IOBufferInterface {
+	protected static final int DEFAULT_BUFFER_SIZE = 8192;
+	// Large enough for every primitive
+	private static final int MIN_BUFFER_SIZE = 8;
+
+	protected final ByteBuffer buffer;
+	private final boolean reading;
+	// Amount of bytes that have been flushed or consumed before the start of the buffer.
+	private long offset;
+	// Strings of a direct buffer are copied into this before decoding.
+	private byte[] scratch;
+
+	protected BufferedIO(final ByteBuffer buffer, final boolean reading) {
+		if (buffer.capacity() < MIN_BUFFER_SIZE) {
+			throw new IllegalArgumentException("Buffer needs to be at least " + MIN_BUFFER_SIZE + " bytes");
+		}
+		this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+		this.reading = reading;
+		if (reading) {
+			this.buffer.limit(0);
+		}
+	}
+
+	/**
+	 * Reads bytes from the source into the buffer.
+	 *
+	 * @return The amount of bytes read, or -1 if the source has ended.
+	 */
+	protected abstract int read(ByteBuffer buffer) throws IOException;
+
+	/**
+	 * Writes all remaining bytes of the buffer into the sink.
+	 */
+	protected abstract void write(ByteBuffer buffer) throws IOException;
+
+	protected abstract void closeSource() throws IOException;
+
+	// ======================================= FUNC ======================================= //
+	@Override
+	public final void rewind() {
+		throw new UnsupportedOperationException("A " + getClass().getSimpleName() + " cannot be rewound");
+	}
+
+	@Override
+	public final int pos() {
+		return (int) (offset + buffer.position());
+	}
+
+	@Override
+	public final void ensureRemaining(final int bytes) {
+		// Runs larger than the buffer are left to the individual calls.
+		if (bytes <= buffer.capacity()) {
+			if (reading) {
+				require(bytes);
+			} else {
+				ensure(bytes);
+			}
+		}
+	}
+
+	/**
+	 * Writes all buffered bytes to the sink. Does nothing when reading.
+	 */
+	public final void flush() {
+		if (!reading && buffer.position() > 0) {
+			buffer.flip();
+			try {
+				while (buffer.hasRemaining()) {
+					write(buffer);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			offset += buffer.limit();
+			buffer.clear();
+		}
+	}
+
+	@Override
+	public final void close() {
+		try {
+			flush();
+		} finally {
+			try {
+				closeSource();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private void require(final int size) {
+		if (buffer.remaining() < size) {
+			fill(size);
+		}
+	}
+
+	private void fill(final int size) {
+		if (!reading) {
+			throw new IllegalStateException("This IO is writing");
+		}
+		offset += buffer.position();
+		buffer.compact();
+		try {
+			while (buffer.position() < size) {
+				if (read(buffer) == -1) {
+					throw new EOFException("Source ended " + (size - buffer.position()) + " bytes early");
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			buffer.flip();
+		}
+	}
+
+	private void ensure(final int size) {
+		if (buffer.remaining() < size) {
+			if (reading) {
+				throw new IllegalStateException("This IO is reading");
+			}
+			flush();
+		}
+	}
+
+	// ======================================== GET ======================================== //
+	@Override
+	public final boolean getBoolean() {
+		return getByte() != 0;
+	}
+
+	@Override
+	public final byte getByte() {
+		require(1);
+		return buffer.get();
+	}
+
+	@Override
+	public final char getChar() {
+		require(2);
+		return buffer.getChar();
+	}
+
+	@Override
+	public final short getShort() {
+		require(2);
+		return buffer.getShort();
+	}
+
+	@Override
+	public final int getInt() {
+		require(4);
+		return buffer.getInt();
+	}
+
+	@Override
+	public final long getLong() {
+		require(8);
+		return buffer.getLong();
+	}
+
+	@Override
+	public final float getFloat() {
+		require(4);
+		return buffer.getFloat();
+	}
+
+	@Override
+	public final double getDouble() {
+		require(8);
+		return buffer.getDouble();
+	}
+
+	@Override
+	public final String getString() {
+		return getUtf8(getInt());
+	}
+
+	@Override
+	public final String getUtf8(final int length) {
+		if (length > buffer.capacity()) {
+			final byte[] byteArray = getByteArray(length);
+			return new String(byteArray, 0, length, StandardCharsets.UTF_8);
+		}
+
+		// Strings that fit are decoded from the buffer itself.
+		require(length);
+		final int pos = buffer.position();
+		buffer.position(pos + length);
+		if (scratch == null && !buffer.hasArray()) {
+			scratch = new byte[Utf8.SCRATCH_SIZE];
+		}
+		return Utf8.decode(buffer, pos, length, scratch);
+	}
+
+	@Override
+	public final void skip(final int length) {
+		int i = 0;
+		while (i < length) {
+			if (!buffer.hasRemaining()) {
+				fill(1);
+			}
+			final int chunk = Math.min(length - i, buffer.remaining());
+			buffer.position(buffer.position() + chunk);
+			i += chunk;
+		}
+	}
+
+	@Override
+	public final void skipString() {
+		skip(getInt());
+	}
+
+	// ======================================== PUT ======================================== //
+	@Override
+	public final void putBoolean(final boolean value) {
+		putByte((byte) (value ? 1 : 0));
+	}
+
+	@Override
+	public final void putByte(final byte value) {
+		ensure(1);
+		buffer.put(value);
+	}
+
+	@Override
+	public final void putChar(final char value) {
+		ensure(2);
+		buffer.putChar(value);
+	}
+
+	@Override
+	public final void putShort(final short value) {
+		ensure(2);
+		buffer.putShort(value);
+	}
+
+	@Override
+	public final void putInt(final int value) {
+		ensure(4);
+		buffer.putInt(value);
+	}
+
+	@Override
+	public final void putLong(final long value) {
+		ensure(8);
+		buffer.putLong(value);
+	}
+
+	@Override
+	public final void putFloat(final float value) {
+		ensure(4);
+		buffer.putFloat(value);
+	}
+
+	@Override
+	public final void putDouble(final double value) {
+		ensure(8);
+		buffer.putDouble(value);
+	}
+
+	@Override
+	public final void putString(final String value) {
+		final int length = Utf8.length(value);
+		putInt(length);
+		putUtf8(value, length);
+	}
+
+	@Override
+	public final void putUtf8(final String value, final int length) {
+		if (length > buffer.capacity()) {
+			putByteArray(value.getBytes(StandardCharsets.UTF_8), length);
+			return;
+		}
+
+		// Strings that fit are encoded into the buffer itself.
+		ensure(length);
+		final int pos = buffer.position();
+		Utf8.encode(value, buffer, pos);
+		buffer.position(pos + length);
+	}
+
+	// ====================================== BUFFERS ======================================== //
+	@Override
+	public final void getByteBuffer(final ByteBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			buffer.put(getByte());
+		}
+	}
+
+	@Override
+	public final void getCharBuffer(final CharBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			buffer.put(getChar());
+		}
+	}
+
+	@Override
+	public final void getShortBuffer(final ShortBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			buffer.put(getShort());
+		}
+	}
+
+	@Override
+	public final void getIntBuffer(final IntBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			buffer.put(getInt());
+		}
+	}
+
+	@Override
+	public final void getLongBuffer(final LongBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			buffer.put(getLong());
+		}
+	}
+
+	@Override
+	public final void getFloatBuffer(final FloatBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			buffer.put(getFloat());
+		}
+	}
+
+	@Override
+	public final void getDoubleBuffer(final DoubleBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			buffer.put(getDouble());
+		}
+	}
+
+	@Override
+	public final void putByteBuffer(final ByteBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			putByte(buffer.get(i));
+		}
+	}
+
+	@Override
+	public final void putCharBuffer(final CharBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			putChar(buffer.get(i));
+		}
+	}
+
+	@Override
+	public final void putShortBuffer(final ShortBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			putShort(buffer.get(i));
+		}
+	}
+
+	@Override
+	public final void putIntBuffer(final IntBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			putInt(buffer.get(i));
+		}
+	}
+
+	@Override
+	public final void putLongBuffer(final LongBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			putLong(buffer.get(i));
+		}
+	}
+
+	@Override
+	public final void putFloatBuffer(final FloatBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			putFloat(buffer.get(i));
+		}
+	}
+
+	@Override
+	public final void putDoubleBuffer(final DoubleBuffer buffer, final int length) {
+		for (int i = 0; i < length; i++) {
+			putDouble(buffer.get(i));
+		}
+	}
+
+	// ====================================== GET_ARR ======================================== //
+	@Override
+	public final boolean[] getBooleanArray(final int length) {
+		final boolean[] out = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getByte() != 0;
+		}
+		return out;
+	}
+
+	@Override
+	public final byte[] getByteArray(final int length) {
+		final byte[] out = new byte[length];
+		int i = 0;
+		while (i < length) {
+			if (!buffer.hasRemaining()) {
+				fill(1);
+			}
+			final int chunk = Math.min(length - i, buffer.remaining());
+			buffer.get(out, i, chunk);
+			i += chunk;
+		}
+		return out;
+	}
+
+	@Override
+	public final char[] getCharArray(final int length) {
+		final char[] out = new char[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getChar();
+		}
+		return out;
+	}
+
+	@Override
+	public final short[] getShortArray(final int length) {
+		final short[] out = new short[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getShort();
+		}
+		return out;
+	}
+
+	@Override
+	public final int[] getIntArray(final int length) {
+		final int[] out = new int[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getInt();
+		}
+		return out;
+	}
+
+	@Override
+	public final long[] getLongArray(final int length) {
+		final long[] out = new long[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getLong();
+		}
+		return out;
+	}
+
+	@Override
+	public final float[] getFloatArray(final int length) {
+		final float[] out = new float[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getFloat();
+		}
+		return out;
+	}
+
+	@Override
+	public final double[] getDoubleArray(final int length) {
+		final double[] out = new double[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getDouble();
+		}
+		return out;
+	}
+
+	@Override
+	public final String[] getStringArray(final int length) {
+		final String[] out = new String[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getString();
+		}
+		return out;
+	}
+
+	// ====================================== PUT_ARR ======================================== //
+	@Override
+	public final void putBooleanArray(final boolean[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putByte((byte) (value[i] ? 1 : 0));
+		}
+	}
+
+	@Override
+	public final void putByteArray(final byte[] value, final int length) {
+		int i = 0;
+		while (i < length) {
+			if (!buffer.hasRemaining()) {
+				ensure(1);
+			}
+			final int chunk = Math.min(length - i, buffer.remaining());
+			buffer.put(value, i, chunk);
+			i += chunk;
+		}
+	}
+
+	@Override
+	public final void putCharArray(final char[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putChar(value[i]);
+		}
+	}
+
+	@Override
+	public final void putShortArray(final short[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putShort(value[i]);
+		}
+	}
+
+	@Override
+	public final void putIntArray(final int[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putInt(value[i]);
+		}
+	}
+
+	@Override
+	public final void putLongArray(final long[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putLong(value[i]);
+		}
+	}
+
+	@Override
+	public final void putFloatArray(final float[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putFloat(value[i]);
+		}
+	}
+
+	@Override
+	public final void putDoubleArray(final double[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putDouble(value[i]);
+		}
+	}
+
+	@Override
+	public final void putStringArray(final String[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putString(value[i]);
+		}
+	}
+}
@@ -3,14 +3,16 @@ package dev.notalpha.hyphen.io;
 import dev.notalpha.hyphen.HyphenSerializer;
 
 import java.nio.*;
-import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 
 /**
  * <h2>Useful for debug and when UnsafeIO is unavailable.</h2>
  */
 @SuppressWarnings({"FinalMethodInFinalClass", "FinalStaticMethod", "unused"})
-public final class ByteBufferIO implements IOInterface, IOBufferInterface {
+public final class ByteBufferIO implements IOPatchInterface, IOBufferInterface {
 	public final ByteBuffer byteBuffer;
+	// Strings of a direct buffer are copied into this before decoding.
+	private byte[] scratch;
 
 	private ByteBufferIO(final ByteBuffer buffer) {
 		this.byteBuffer = buffer;
@@ -48,12 +50,108 @@ public final class ByteBufferIO implements IOInterface, IOBufferInterface {
 		return byteBuffer.position();
 	}
 
+	@Override
+	public final void seek(final int pos) {
+		byteBuffer.position(pos);
+	}
+
+	@Override
+	public final int reserveInt() {
+		final int slot = byteBuffer.position();
+		byteBuffer.position(slot + 4);
+		return slot;
+	}
+
+	@Override
+	public final void patchInt(final int pos, final int value) {
+		byteBuffer.putInt(pos, value);
+	}
+
+	@Override
+	public final void ensureRemaining(final int bytes) {
+		Objects.checkFromIndexSize(byteBuffer.position(), bytes, byteBuffer.limit());
+	}
+
 	@Override
 	public final void close() {
 		byteBuffer.clear();
 	}
 
 
+	// ======================================= CURSOR ======================================= //
+	// Used by generated code with Options.INLINE_IO, the position is kept in a local variable and written back with cursor(int).
+	public final int cursor() {
+		return byteBuffer.position();
+	}
+
+	public final void cursor(final int cursor) {
+		byteBuffer.position(cursor);
+	}
+
+	public static final boolean getBooleanAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.get(cursor) == 1;
+	}
+
+	public static final byte getByteAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.get(cursor);
+	}
+
+	public static final char getCharAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.getChar(cursor);
+	}
+
+	public static final short getShortAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.getShort(cursor);
+	}
+
+	public static final int getIntAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.getInt(cursor);
+	}
+
+	public static final long getLongAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.getLong(cursor);
+	}
+
+	public static final float getFloatAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.getFloat(cursor);
+	}
+
+	public static final double getDoubleAt(final ByteBufferIO io, final int cursor) {
+		return io.byteBuffer.getDouble(cursor);
+	}
+
+	public static final void putBooleanAt(final ByteBufferIO io, final boolean value, final int cursor) {
+		io.byteBuffer.put(cursor, (byte) (value ? 1 : 0));
+	}
+
+	public static final void putByteAt(final ByteBufferIO io, final byte value, final int cursor) {
+		io.byteBuffer.put(cursor, value);
+	}
+
+	public static final void putCharAt(final ByteBufferIO io, final char value, final int cursor) {
+		io.byteBuffer.putChar(cursor, value);
+	}
+
+	public static final void putShortAt(final ByteBufferIO io, final short value, final int cursor) {
+		io.byteBuffer.putShort(cursor, value);
+	}
+
+	public static final void putIntAt(final ByteBufferIO io, final int value, final int cursor) {
+		io.byteBuffer.putInt(cursor, value);
+	}
+
+	public static final void putLongAt(final ByteBufferIO io, final long value, final int cursor) {
+		io.byteBuffer.putLong(cursor, value);
+	}
+
+	public static final void putFloatAt(final ByteBufferIO io, final float value, final int cursor) {
+		io.byteBuffer.putFloat(cursor, value);
+	}
+
+	public static final void putDoubleAt(final ByteBufferIO io, final double value, final int cursor) {
+		io.byteBuffer.putDouble(cursor, value);
+	}
+
 	// ======================================== GET ======================================== //
 	@Override
 	public final boolean getBoolean() {
@@ -105,9 +203,28 @@ public final class ByteBufferIO implements IOInterface, IOBufferInterface {
 
 	@Override
 	public final String getString() {
-		final int length = getInt();
-		final byte[] byteArray = getByteArray(length);
-		return new String(byteArray, 0, length, StandardCharsets.UTF_8);
+		return getUtf8(getInt());
+	}
+
+	@Override
+	public final String getUtf8(final int length) {
+		final int pos = byteBuffer.position();
+		Objects.checkFromIndexSize(pos, length, byteBuffer.limit());
+		byteBuffer.position(pos + length);
+		if (scratch == null && !byteBuffer.hasArray()) {
+			scratch = new byte[Utf8.SCRATCH_SIZE];
+		}
+		return Utf8.decode(byteBuffer, pos, length, scratch);
+	}
+
+	@Override
+	public final void skip(final int length) {
+		byteBuffer.position(byteBuffer.position() + length);
+	}
+
+	@Override
+	public final void skipString() {
+		skip(getInt());
 	}
 
 
@@ -161,10 +278,17 @@ public final class ByteBufferIO implements IOInterface, IOBufferInterface {
 
 	@Override
 	public final void putString(final String value) {
-		final byte[] array = value.getBytes(StandardCharsets.UTF_8);
-		final int length = array.length;
-		putInt(length);
-		putByteArray(array, length);
+		final int length = Utf8.length(value);
+		byteBuffer.putInt(length);
+		putUtf8(value, length);
+	}
+
+	@Override
+	public final void putUtf8(final String value, final int length) {
+		final int pos = byteBuffer.position();
+		Objects.checkFromIndexSize(pos, length, byteBuffer.limit());
+		Utf8.encode(value, byteBuffer, pos);
+		byteBuffer.position(pos + length);
 	}
 
 
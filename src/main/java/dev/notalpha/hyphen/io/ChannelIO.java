@@ -0,0 +1,57 @@
+package dev.notalpha.hyphen.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * <h2>Reads from a {@link ReadableByteChannel} or writes to a {@link WritableByteChannel} through a fixed-size buffer.</h2>
+ * The buffer is direct by default to avoid an extra copy inside the channel. A ChannelIO cannot be rewound.
+ */
+@SuppressWarnings({"FinalStaticMethod", "unused"})
+public final class ChannelIO extends BufferedIO {
+	private final ReadableByteChannel in;
+	private final WritableByteChannel out;
+
+	private ChannelIO(final ReadableByteChannel in, final WritableByteChannel out, final ByteBuffer buffer) {
+		super(buffer, in != null);
+		this.in = in;
+		this.out = out;
+	}
+
+	public static final ChannelIO read(final ReadableByteChannel in) {
+		return read(in, ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE));
+	}
+
+	public static final ChannelIO read(final ReadableByteChannel in, final ByteBuffer buffer) {
+		return new ChannelIO(in, null, buffer.clear());
+	}
+
+	public static final ChannelIO write(final WritableByteChannel out) {
+		return write(out, ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE));
+	}
+
+	public static final ChannelIO write(final WritableByteChannel out, final ByteBuffer buffer) {
+		return new ChannelIO(null, out, buffer.clear());
+	}
+
+	@Override
+	protected int read(final ByteBuffer buffer) throws IOException {
+		return in.read(buffer);
+	}
+
+	@Override
+	protected void write(final ByteBuffer buffer) throws IOException {
+		out.write(buffer);
+	}
+
+	@Override
+	protected void closeSource() throws IOException {
+		if (in != null) {
+			in.close();
+		} else {
+			out.close();
+		}
+	}
+}
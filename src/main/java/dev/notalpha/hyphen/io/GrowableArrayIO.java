@@ -0,0 +1,75 @@
+package dev.notalpha.hyphen.io;
+
+import dev.notalpha.hyphen.HyphenSerializer;
+
+import java.util.Arrays;
+
+/**
+ * GrowableArrayIO. An {@link ArrayIO} that doubles its backing array whenever a put would overflow it. <br>
+ * This removes the need for a {@link HyphenSerializer#measure(Object)} pass before writing, see {@link HyphenSerializer#putGrowing(Object)}.
+ */
+@SuppressWarnings({"FinalMethodInFinalClass", "FinalStaticMethod", "unused"})
+public final class GrowableArrayIO extends AbstractArrayIO implements IOGrowableInterface {
+	private static final int DEFAULT_SIZE = 64;
+
+	private GrowableArrayIO(final byte[] bytes, final int pos) {
+		super(bytes, pos);
+	}
+
+	public static final GrowableArrayIO create() {
+		return create(DEFAULT_SIZE);
+	}
+
+	public static final GrowableArrayIO create(final int size) {
+		return new GrowableArrayIO(new byte[Math.max(size, 1)], 0);
+	}
+
+	public static final GrowableArrayIO wrap(final byte[] array) {
+		return new GrowableArrayIO(array, 0);
+	}
+
+
+	// ======================================= FUNC ======================================= //
+	@Override
+	protected final void ensure(final int size) {
+		final int required = pos + size;
+		if (required > bytes.length || required < 0) {
+			grow(required);
+		}
+	}
+
+	@Override
+	public final void ensureRemaining(final int bytes) {
+		ensure(bytes);
+	}
+
+	/**
+	 * @return A copy of the written bytes, trimmed to the current position.
+	 */
+	public final byte[] export() {
+		return Arrays.copyOf(bytes, pos);
+	}
+
+	/**
+	 * @return The current backing array. This is usually larger than the written data.
+	 */
+	public final byte[] array() {
+		return bytes;
+	}
+
+	@Override
+	public final int capacity() {
+		return bytes.length;
+	}
+
+	private void grow(final int required) {
+		if (required < 0) {
+			throw new OutOfMemoryError("GrowableArrayIO cannot grow past " + Integer.MAX_VALUE + " bytes");
+		}
+		int newSize = bytes.length << 1;
+		if (newSize < required || newSize < 0) {
+			newSize = required;
+		}
+		bytes = Arrays.copyOf(bytes, newSize);
+	}
+}
@@ -0,0 +1,14 @@
+package dev.notalpha.hyphen.io;
+
+import dev.notalpha.hyphen.HyphenSerializer;
+
+/**
+ * An IO which grows its storage on demand and therefore can be written to without measuring first. <br>
+ * Implementations must provide a {@code public static create()} factory, which is used by {@link HyphenSerializer#putGrowing(Object)}.
+ */
+public interface IOGrowableInterface extends IOInterface {
+	/**
+	 * @return The size of the current backing storage in bytes.
+	 */
+	int capacity();
+}
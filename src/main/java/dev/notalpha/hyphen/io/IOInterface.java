@@ -1,5 +1,7 @@
 package dev.notalpha.hyphen.io;
 
+import java.nio.charset.StandardCharsets;
+
 @SuppressWarnings("unused") // good morning intellij this is a library
 public interface IOInterface {
 	boolean getBoolean();
@@ -20,6 +22,15 @@ public interface IOInterface {
 
 	String getString();
 
+	/**
+	 * Reads UTF-8 bytes written by {@link #putUtf8(String, int)} as a string.
+	 *
+	 * @param length The amount of UTF-8 bytes.
+	 */
+	default String getUtf8(int length) {
+		return new String(getByteArray(length), StandardCharsets.UTF_8);
+	}
+
 	void putBoolean(boolean value);
 
 	void putByte(byte value);
@@ -38,6 +49,31 @@ public interface IOInterface {
 
 	void putString(String value);
 
+	/**
+	 * Writes the UTF-8 bytes of a string without a length in front of them.
+	 *
+	 * @param length The amount of UTF-8 bytes, as counted by {@link Utf8#length(String)}.
+	 */
+	default void putUtf8(String value, int length) {
+		putByteArray(value.getBytes(StandardCharsets.UTF_8), length);
+	}
+
+	/**
+	 * Moves past the next bytes without reading them.
+	 */
+	default void skip(int length) {
+		for (int i = 0; i < length; i++) {
+			getByte();
+		}
+	}
+
+	/**
+	 * Moves past a string written by {@link #putString(String)} without decoding it.
+	 */
+	default void skipString() {
+		getString();
+	}
+
 	boolean[] getBooleanArray(int length);
 
 	byte[] getByteArray(int length);
@@ -74,9 +110,98 @@ public interface IOInterface {
 
 	void putStringArray(String[] value, int length);
 
+	// ======================================= VARINT ======================================= //
+	/**
+	 * Writes an unsigned int in 7 bit groups, taking 1 to 5 bytes. Signed values should go through {@link #encodeZigZag(int)} first.
+	 */
+	default void putVarInt(int value) {
+		while ((value & ~0x7F) != 0) {
+			putByte((byte) (value | 0x80));
+			value >>>= 7;
+		}
+		putByte((byte) value);
+	}
+
+	/**
+	 * Writes an unsigned long in 7 bit groups, taking 1 to 10 bytes. Signed values should go through {@link #encodeZigZag(long)} first.
+	 */
+	default void putVarLong(long value) {
+		while ((value & ~0x7FL) != 0) {
+			putByte((byte) (value | 0x80));
+			value >>>= 7;
+		}
+		putByte((byte) value);
+	}
+
+	default int getVarInt() {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			final byte b = getByte();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalStateException("Variable length int is longer than 5 bytes");
+	}
+
+	default long getVarLong() {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = getByte();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalStateException("Variable length long is longer than 10 bytes");
+	}
+
+	/**
+	 * @return The amount of bytes {@link #putVarInt(int)} writes for this value.
+	 */
+	static int varIntSize(int value) {
+		return (31 - Integer.numberOfLeadingZeros(value | 1)) / 7 + 1;
+	}
+
+	/**
+	 * @return The amount of bytes {@link #putVarLong(long)} writes for this value.
+	 */
+	static int varLongSize(long value) {
+		return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+	}
+
+	/**
+	 * Maps signed values to unsigned ones so small negative numbers stay small. 0 -> 0, -1 -> 1, 1 -> 2, -2 -> 3...
+	 */
+	static int encodeZigZag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	static long encodeZigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static int decodeZigZag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static long decodeZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
 	void rewind();
 
 	int pos();
 
+	/**
+	 * Called by generated code before a run of fixed-size writes, so the IO can make room for all of them at once. <br>
+	 * The individual calls stay checked, but an IO which grows or flushes only has to do so here. IOs which cannot grow only check the room.
+	 *
+	 * @param bytes The amount of bytes that are about to be written.
+	 */
+	default void ensureRemaining(int bytes) {
+	}
+
 	void close();
 }
@@ -0,0 +1,21 @@
+package dev.notalpha.hyphen.io;
+
+import dev.notalpha.hyphen.Options;
+
+/**
+ * An IO which can go back and fill in an int it skipped earlier, so a length can be written after what it counts. <br>
+ * Used by {@link Options#PATCHED_LENGTHS}.
+ */
+public interface IOPatchInterface extends IOSeekInterface {
+	/**
+	 * Skips 4 bytes which get written later with {@link #patchInt(int, int)}.
+	 *
+	 * @return The position of the skipped bytes.
+	 */
+	int reserveInt();
+
+	/**
+	 * Writes an int at a position returned by {@link #reserveInt()}. The current position does not change.
+	 */
+	void patchInt(int pos, int value);
+}
@@ -0,0 +1,12 @@
+package dev.notalpha.hyphen.io;
+
+/**
+ * An IO which can move to any position it returned from {@link #pos()}, so encoded data can be read out of order. <br>
+ * Used by {@link dev.notalpha.hyphen.HyphenView}.
+ */
+public interface IOSeekInterface extends IOInterface {
+	/**
+	 * Moves to an absolute position, the next read or write happens there.
+	 */
+	void seek(int pos);
+}
@@ -0,0 +1,466 @@
+package dev.notalpha.hyphen.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * <h2>Reads and writes a memory mapped file.</h2>
+ * Gets run straight against the page cache, without read calls or intermediate copies.
+ * Unlike {@link UnsafeIO} every access is bounds checked. When writing past the end of the mapping the file is extended and remapped.
+ * On {@link #close()} a writable file is truncated to the furthest byte that was written.
+ */
+@SuppressWarnings({"FinalMethodInFinalClass", "FinalStaticMethod", "unused"})
+public final class MappedIO implements IOPatchInterface {
+	private static final int MIN_SIZE = 4096;
+	private final FileChannel channel;
+	private final boolean writable;
+	private MappedByteBuffer buffer;
+	private int pos;
+	// The furthest byte that was written.
+	private int end;
+	// Strings are copied into this before decoding.
+	private byte[] scratch;
+
+	private MappedIO(final FileChannel channel, final boolean writable, final int size) throws IOException {
+		this.channel = channel;
+		this.writable = writable;
+		this.buffer = map(size);
+		this.end = writable ? 0 : size;
+	}
+
+	/**
+	 * Creates a new file or truncates an existing one, then maps {@code size} bytes of it.
+	 */
+	public static final MappedIO create(final Path path, final int size) {
+		try {
+			return new MappedIO(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE), true, size);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Maps an existing file for reading and writing. Writes past the end of the file extend it.
+	 */
+	public static final MappedIO open(final Path path) {
+		try {
+			final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			final MappedIO io = new MappedIO(channel, true, checkSize(channel.size()));
+			io.end = io.buffer.capacity();
+			return io;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Maps an existing file read-only.
+	 */
+	public static final MappedIO read(final Path path) {
+		try {
+			final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+			return new MappedIO(channel, false, checkSize(channel.size()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static int checkSize(final long size) {
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("File is larger than " + Integer.MAX_VALUE + " bytes");
+		}
+		return (int) size;
+	}
+
+	private MappedByteBuffer map(final int size) throws IOException {
+		final MappedByteBuffer map = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, size);
+		map.order(ByteOrder.LITTLE_ENDIAN);
+		return map;
+	}
+
+	private void ensure(final int size) {
+		final int required = pos + size;
+		if (required > buffer.capacity() || required < 0) {
+			grow(required);
+		}
+		if (required > end) {
+			end = required;
+		}
+	}
+
+	private void grow(final int required) {
+		if (!writable) {
+			throw new IndexOutOfBoundsException("Cannot write past the end of a read-only mapping");
+		}
+		if (required < 0) {
+			throw new IndexOutOfBoundsException("MappedIO cannot grow past " + Integer.MAX_VALUE + " bytes");
+		}
+		int newSize = Math.max(buffer.capacity() << 1, MIN_SIZE);
+		if (newSize < required || newSize < 0) {
+			newSize = required;
+		}
+		try {
+			buffer = map(newSize);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// ======================================= FUNC ======================================= //
+	@Override
+	public final void rewind() {
+		pos = 0;
+	}
+
+	@Override
+	public final int pos() {
+		return pos;
+	}
+
+	@Override
+	public final void seek(final int pos) {
+		this.pos = pos;
+	}
+
+	@Override
+	public final int reserveInt() {
+		ensure(4);
+		final int slot = pos;
+		pos += 4;
+		return slot;
+	}
+
+	@Override
+	public final void patchInt(final int pos, final int value) {
+		buffer.putInt(pos, value);
+	}
+
+	/**
+	 * Makes room for writing {@code bytes} more bytes. A read-only mapping is only checked, as it cannot grow.
+	 */
+	@Override
+	public final void ensureRemaining(final int bytes) {
+		if (!writable) {
+			Objects.checkFromIndexSize(pos, bytes, buffer.capacity());
+			return;
+		}
+		final int required = pos + bytes;
+		if (required > buffer.capacity() || required < 0) {
+			grow(required);
+		}
+	}
+
+	/**
+	 * @return The amount of bytes in the file once it gets closed.
+	 */
+	public final int size() {
+		return end;
+	}
+
+	/**
+	 * Forces all changes to be written to the storage device.
+	 */
+	public final void force() {
+		buffer.force();
+	}
+
+	@Override
+	public final void close() {
+		try {
+			if (writable) {
+				buffer.force();
+				channel.truncate(end);
+			}
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// ======================================== GET ======================================== //
+	@Override
+	public final boolean getBoolean() {
+		return getByte() != 0;
+	}
+
+	@Override
+	public final byte getByte() {
+		return buffer.get(pos++);
+	}
+
+	@Override
+	public final char getChar() {
+		final char c = buffer.getChar(pos);
+		pos += 2;
+		return c;
+	}
+
+	@Override
+	public final short getShort() {
+		final short s = buffer.getShort(pos);
+		pos += 2;
+		return s;
+	}
+
+	@Override
+	public final int getInt() {
+		final int i = buffer.getInt(pos);
+		pos += 4;
+		return i;
+	}
+
+	@Override
+	public final long getLong() {
+		final long l = buffer.getLong(pos);
+		pos += 8;
+		return l;
+	}
+
+	@Override
+	public final float getFloat() {
+		final float f = buffer.getFloat(pos);
+		pos += 4;
+		return f;
+	}
+
+	@Override
+	public final double getDouble() {
+		final double d = buffer.getDouble(pos);
+		pos += 8;
+		return d;
+	}
+
+	@Override
+	public final String getString() {
+		return getUtf8(getInt());
+	}
+
+	@Override
+	public final String getUtf8(final int length) {
+		if (scratch == null) {
+			scratch = new byte[Utf8.SCRATCH_SIZE];
+		}
+		final String value = Utf8.decode(buffer, pos, length, scratch);
+		pos += length;
+		return value;
+	}
+
+	@Override
+	public final void skip(final int length) {
+		pos += length;
+	}
+
+	@Override
+	public final void skipString() {
+		skip(getInt());
+	}
+
+	// ======================================== PUT ======================================== //
+	@Override
+	public final void putBoolean(final boolean value) {
+		putByte((byte) (value ? 1 : 0));
+	}
+
+	@Override
+	public final void putByte(final byte value) {
+		ensure(1);
+		buffer.put(pos++, value);
+	}
+
+	@Override
+	public final void putChar(final char value) {
+		ensure(2);
+		buffer.putChar(pos, value);
+		pos += 2;
+	}
+
+	@Override
+	public final void putShort(final short value) {
+		ensure(2);
+		buffer.putShort(pos, value);
+		pos += 2;
+	}
+
+	@Override
+	public final void putInt(final int value) {
+		ensure(4);
+		buffer.putInt(pos, value);
+		pos += 4;
+	}
+
+	@Override
+	public final void putLong(final long value) {
+		ensure(8);
+		buffer.putLong(pos, value);
+		pos += 8;
+	}
+
+	@Override
+	public final void putFloat(final float value) {
+		ensure(4);
+		buffer.putFloat(pos, value);
+		pos += 4;
+	}
+
+	@Override
+	public final void putDouble(final double value) {
+		ensure(8);
+		buffer.putDouble(pos, value);
+		pos += 8;
+	}
+
+	@Override
+	public final void putString(final String value) {
+		final int length = Utf8.length(value);
+		putInt(length);
+		putUtf8(value, length);
+	}
+
+	@Override
+	public final void putUtf8(final String value, final int length) {
+		ensure(length);
+		Utf8.encode(value, buffer, pos);
+		pos += length;
+	}
+
+	// ====================================== GET_ARR ======================================== //
+	private ByteBuffer slice(final int bytes) {
+		final ByteBuffer slice = buffer.slice(pos, bytes).order(ByteOrder.LITTLE_ENDIAN);
+		pos += bytes;
+		return slice;
+	}
+
+	@Override
+	public final boolean[] getBooleanArray(final int length) {
+		final boolean[] out = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getByte() != 0;
+		}
+		return out;
+	}
+
+	@Override
+	public final byte[] getByteArray(final int length) {
+		final byte[] out = new byte[length];
+		buffer.get(pos, out, 0, length);
+		pos += length;
+		return out;
+	}
+
+	@Override
+	public final char[] getCharArray(final int length) {
+		final char[] out = new char[length];
+		slice(length * 2).asCharBuffer().get(out);
+		return out;
+	}
+
+	@Override
+	public final short[] getShortArray(final int length) {
+		final short[] out = new short[length];
+		slice(length * 2).asShortBuffer().get(out);
+		return out;
+	}
+
+	@Override
+	public final int[] getIntArray(final int length) {
+		final int[] out = new int[length];
+		slice(length * 4).asIntBuffer().get(out);
+		return out;
+	}
+
+	@Override
+	public final long[] getLongArray(final int length) {
+		final long[] out = new long[length];
+		slice(length * 8).asLongBuffer().get(out);
+		return out;
+	}
+
+	@Override
+	public final float[] getFloatArray(final int length) {
+		final float[] out = new float[length];
+		slice(length * 4).asFloatBuffer().get(out);
+		return out;
+	}
+
+	@Override
+	public final double[] getDoubleArray(final int length) {
+		final double[] out = new double[length];
+		slice(length * 8).asDoubleBuffer().get(out);
+		return out;
+	}
+
+	@Override
+	public final String[] getStringArray(final int length) {
+		final String[] out = new String[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getString();
+		}
+		return out;
+	}
+
+	// ====================================== PUT_ARR ======================================== //
+	@Override
+	public final void putBooleanArray(final boolean[] value, final int length) {
+		ensure(length);
+		for (int i = 0; i < length; i++) {
+			buffer.put(pos++, (byte) (value[i] ? 1 : 0));
+		}
+	}
+
+	@Override
+	public final void putByteArray(final byte[] value, final int length) {
+		ensure(length);
+		buffer.put(pos, value, 0, length);
+		pos += length;
+	}
+
+	@Override
+	public final void putCharArray(final char[] value, final int length) {
+		ensure(length * 2);
+		slice(length * 2).asCharBuffer().put(value, 0, length);
+	}
+
+	@Override
+	public final void putShortArray(final short[] value, final int length) {
+		ensure(length * 2);
+		slice(length * 2).asShortBuffer().put(value, 0, length);
+	}
+
+	@Override
+	public final void putIntArray(final int[] value, final int length) {
+		ensure(length * 4);
+		slice(length * 4).asIntBuffer().put(value, 0, length);
+	}
+
+	@Override
+	public final void putLongArray(final long[] value, final int length) {
+		ensure(length * 8);
+		slice(length * 8).asLongBuffer().put(value, 0, length);
+	}
+
+	@Override
+	public final void putFloatArray(final float[] value, final int length) {
+		ensure(length * 4);
+		slice(length * 4).asFloatBuffer().put(value, 0, length);
+	}
+
+	@Override
+	public final void putDoubleArray(final double[] value, final int length) {
+		ensure(length * 8);
+		slice(length * 8).asDoubleBuffer().put(value, 0, length);
+	}
+
+	@Override
+	public final void putStringArray(final String[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putString(value[i]);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package dev.notalpha.hyphen.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * <h2>Reads from an {@link InputStream} or writes to an {@link OutputStream} through a fixed-size buffer.</h2>
+ * Memory usage stays constant no matter how large the data is. A StreamIO cannot be rewound.
+ */
+@SuppressWarnings({"FinalStaticMethod", "unused"})
+public final class StreamIO extends BufferedIO {
+	private final InputStream in;
+	private final OutputStream out;
+
+	private StreamIO(final InputStream in, final OutputStream out, final int bufferSize) {
+		super(ByteBuffer.allocate(bufferSize), in != null);
+		this.in = in;
+		this.out = out;
+	}
+
+	public static final StreamIO read(final InputStream in) {
+		return read(in, DEFAULT_BUFFER_SIZE);
+	}
+
+	public static final StreamIO read(final InputStream in, final int bufferSize) {
+		return new StreamIO(in, null, bufferSize);
+	}
+
+	public static final StreamIO write(final OutputStream out) {
+		return write(out, DEFAULT_BUFFER_SIZE);
+	}
+
+	public static final StreamIO write(final OutputStream out, final int bufferSize) {
+		return new StreamIO(null, out, bufferSize);
+	}
+
+	@Override
+	protected int read(final ByteBuffer buffer) throws IOException {
+		final int read = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		if (read > 0) {
+			buffer.position(buffer.position() + read);
+		}
+		return read;
+	}
+
+	@Override
+	protected void write(final ByteBuffer buffer) throws IOException {
+		out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		buffer.position(buffer.limit());
+	}
+
+	@Override
+	protected void closeSource() throws IOException {
+		if (in != null) {
+			in.close();
+		} else {
+			out.close();
+		}
+	}
+}
@@ -7,13 +7,14 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.nio.Buffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * <h2>This is the créme de la créme of all IO. Highly unsafe but really fast.</h2>
  */
 @SuppressWarnings({"AccessStaticViaInstance", "FinalMethodInFinalClass", "unused", "FinalStaticMethod"})
 // if the jvm sees us import unsafe, it will explode:tm::tm:
-public final class UnsafeIO implements IOInterface {
+public final class UnsafeIO implements IOPatchInterface {
 	private static final sun.misc.Unsafe UNSAFE = getUnsafeInstance();
 	private static final int BOOLEAN_OFFSET = UNSAFE.ARRAY_BOOLEAN_BASE_OFFSET;
 	private static final int BYTE_OFFSET = UNSAFE.ARRAY_BYTE_BASE_OFFSET;
@@ -94,7 +95,24 @@ public final class UnsafeIO implements IOInterface {
 
 	@Override
 	public final int pos() {
-		return (int) ((int) currentAddress - address);
+		return (int) (currentAddress - address);
+	}
+
+	@Override
+	public final void seek(final int pos) {
+		currentAddress = address + pos;
+	}
+
+	@Override
+	public final int reserveInt() {
+		final int slot = pos();
+		currentAddress += 4;
+		return slot;
+	}
+
+	@Override
+	public final void patchInt(final int pos, final int value) {
+		UNSAFE.putInt(null, address + pos, value);
 	}
 
 	@Override
@@ -110,6 +128,80 @@ public final class UnsafeIO implements IOInterface {
 		return address;
 	}
 
+	// ======================================= CURSOR ======================================= //
+	// Used by generated code with Options.INLINE_IO, the position is kept in a local variable and written back with cursor(long).
+	public final long cursor() {
+		return currentAddress;
+	}
+
+	public final void cursor(final long cursor) {
+		currentAddress = cursor;
+	}
+
+	public static final boolean getBooleanAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getBoolean(null, cursor);
+	}
+
+	public static final byte getByteAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getByte(null, cursor);
+	}
+
+	public static final char getCharAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getChar(null, cursor);
+	}
+
+	public static final short getShortAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getShort(null, cursor);
+	}
+
+	public static final int getIntAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getInt(null, cursor);
+	}
+
+	public static final long getLongAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getLong(null, cursor);
+	}
+
+	public static final float getFloatAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getFloat(null, cursor);
+	}
+
+	public static final double getDoubleAt(final UnsafeIO io, final long cursor) {
+		return UNSAFE.getDouble(null, cursor);
+	}
+
+	public static final void putBooleanAt(final UnsafeIO io, final boolean value, final long cursor) {
+		UNSAFE.putBoolean(null, cursor, value);
+	}
+
+	public static final void putByteAt(final UnsafeIO io, final byte value, final long cursor) {
+		UNSAFE.putByte(null, cursor, value);
+	}
+
+	public static final void putCharAt(final UnsafeIO io, final char value, final long cursor) {
+		UNSAFE.putChar(null, cursor, value);
+	}
+
+	public static final void putShortAt(final UnsafeIO io, final short value, final long cursor) {
+		UNSAFE.putShort(null, cursor, value);
+	}
+
+	public static final void putIntAt(final UnsafeIO io, final int value, final long cursor) {
+		UNSAFE.putInt(null, cursor, value);
+	}
+
+	public static final void putLongAt(final UnsafeIO io, final long value, final long cursor) {
+		UNSAFE.putLong(null, cursor, value);
+	}
+
+	public static final void putFloatAt(final UnsafeIO io, final float value, final long cursor) {
+		UNSAFE.putFloat(null, cursor, value);
+	}
+
+	public static final void putDoubleAt(final UnsafeIO io, final double value, final long cursor) {
+		UNSAFE.putDouble(null, cursor, value);
+	}
+
 	// ======================================== GET ======================================== //
 	@Override
 	public final boolean getBoolean() {
@@ -171,19 +263,54 @@ public final class UnsafeIO implements IOInterface {
 				currentAddress += 4;
 				return "";
 			}
-			final var string = (String) UNSAFE.allocateInstance(String.class);
 			final var byteArray = new byte[Math.abs(infoBytes) /*length*/];
 			final var arrayLength = byteArray.length;
 			UNSAFE.copyMemory(null, currentAddress + 4, byteArray, BYTE_OFFSET, arrayLength);
-			UNSAFE.putObject(string, STRING_FIELD_OFFSET, byteArray);
-			UNSAFE.putByte(string, STRING_ENCODING_OFFSET, (byte) (infoBytes < 0 ? 1 : 0));
 			currentAddress += arrayLength + 4;
-			return string;
+			return wrapString(byteArray, (byte) (infoBytes < 0 ? 1 : 0));
+		} catch (InstantiationException e) {
+			throw new RuntimeException("String creation failed: ", e);
+		}
+	}
+
+	@Override
+	public final String getUtf8(final int length) {
+		final byte[] bytes = new byte[length];
+		UNSAFE.copyMemory(null, currentAddress, bytes, BYTE_OFFSET, length);
+		currentAddress += length;
+		for (byte b : bytes) {
+			if (b < 0) {
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		}
+
+		// ASCII is its own Latin-1, so the array becomes the string without another copy.
+		try {
+			return wrapString(bytes, (byte) 0);
 		} catch (InstantiationException e) {
 			throw new RuntimeException("String creation failed: ", e);
 		}
 	}
 
+	// Creates a string that uses the array as its value, with 0 as the coder of Latin-1 and 1 of UTF-16.
+	private static String wrapString(final byte[] bytes, final byte coder) throws InstantiationException {
+		final var string = (String) UNSAFE.allocateInstance(String.class);
+		UNSAFE.putObject(string, STRING_FIELD_OFFSET, bytes);
+		UNSAFE.putByte(string, STRING_ENCODING_OFFSET, coder);
+		return string;
+	}
+
+	@Override
+	public final void skip(final int length) {
+		currentAddress += length;
+	}
+
+	@Override
+	public final void skipString() {
+		// Negative lengths mark UTF-16 strings.
+		skip(Math.abs(getInt()));
+	}
+
 
 	// ======================================== PUT ======================================== //
 	@Override
@@ -241,6 +368,19 @@ public final class UnsafeIO implements IOInterface {
 		currentAddress += length + 4;
 	}
 
+	@Override
+	public final void putUtf8(final String value, final int length) {
+		// A Latin-1 string of as many bytes as chars is all ASCII, which is its own UTF-8.
+		if (length == value.length() && UNSAFE.getByte(value, STRING_ENCODING_OFFSET) == 0) {
+			UNSAFE.copyMemory(UNSAFE.getObject(value, STRING_FIELD_OFFSET), BYTE_OFFSET, null, currentAddress, length);
+		} else {
+			final byte[] bytes = new byte[length];
+			Utf8.encode(value, bytes, 0);
+			UNSAFE.copyMemory(bytes, BYTE_OFFSET, null, currentAddress, length);
+		}
+		currentAddress += length;
+	}
+
 
 	// ====================================== GET_ARR ======================================== //
 	@Override
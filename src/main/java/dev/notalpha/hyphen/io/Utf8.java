@@ -0,0 +1,138 @@
+package dev.notalpha.hyphen.io;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures and encodes strings as UTF-8 without the temporary array of {@link String#getBytes(java.nio.charset.Charset)}. <br>
+ * The output is the same, so unpaired surrogates become {@code '?'}.
+ */
+@SuppressWarnings({"FinalStaticMethod", "unused"})
+public final class Utf8 {
+	/**
+	 * Direct buffers have to be copied to the heap before decoding. IOs keep an array of this size for that, larger strings get a temporary one.
+	 */
+	public static final int SCRATCH_SIZE = 1024;
+
+	private Utf8() {
+	}
+
+	/**
+	 * @return The amount of bytes the string takes as UTF-8.
+	 */
+	public static final int length(final String value) {
+		final int chars = value.length();
+		int i = 0;
+		while (i < chars && value.charAt(i) < 0x80) {
+			i++;
+		}
+
+		// Every char takes at least a byte, only the extra bytes get counted.
+		int length = chars;
+		for (; i < chars; i++) {
+			final char c = value.charAt(i);
+			if (c < 0x80) {
+				continue;
+			}
+			if (c < 0x800) {
+				length += 1;
+			} else if (!Character.isSurrogate(c)) {
+				length += 2;
+			} else if (isPair(value, i, chars)) {
+				// 4 bytes for the 2 chars of the pair.
+				length += 2;
+				i++;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Encodes the string into the array, which needs room for {@link #length(String)} bytes at {@code pos}.
+	 */
+	public static final void encode(final String value, final byte[] bytes, int pos) {
+		final int chars = value.length();
+		int i = 0;
+		// Most strings are ASCII, which is a plain copy until the first other char.
+		for (char c; i < chars && (c = value.charAt(i)) < 0x80; i++) {
+			bytes[pos++] = (byte) c;
+		}
+
+		for (; i < chars; i++) {
+			final char c = value.charAt(i);
+			if (c < 0x80) {
+				bytes[pos++] = (byte) c;
+			} else if (c < 0x800) {
+				bytes[pos++] = (byte) (0xC0 | (c >> 6));
+				bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+			} else if (!Character.isSurrogate(c)) {
+				bytes[pos++] = (byte) (0xE0 | (c >> 12));
+				bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				bytes[pos++] = (byte) (0x80 | (c & 0x3F));
+			} else if (isPair(value, i, chars)) {
+				final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				bytes[pos++] = (byte) (0xF0 | (codePoint >> 18));
+				bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				bytes[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else {
+				bytes[pos++] = '?';
+			}
+		}
+	}
+
+	/**
+	 * Encodes the string into the buffer, which needs room for {@link #length(String)} bytes at {@code pos}. <br>
+	 * The position of the buffer does not change.
+	 */
+	public static final void encode(final String value, final ByteBuffer buffer, int pos) {
+		if (buffer.hasArray()) {
+			encode(value, buffer.array(), buffer.arrayOffset() + pos);
+			return;
+		}
+
+		final int chars = value.length();
+		for (int i = 0; i < chars; i++) {
+			final char c = value.charAt(i);
+			if (c < 0x80) {
+				buffer.put(pos++, (byte) c);
+			} else if (c < 0x800) {
+				buffer.put(pos++, (byte) (0xC0 | (c >> 6)));
+				buffer.put(pos++, (byte) (0x80 | (c & 0x3F)));
+			} else if (!Character.isSurrogate(c)) {
+				buffer.put(pos++, (byte) (0xE0 | (c >> 12)));
+				buffer.put(pos++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+				buffer.put(pos++, (byte) (0x80 | (c & 0x3F)));
+			} else if (isPair(value, i, chars)) {
+				final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				buffer.put(pos++, (byte) (0xF0 | (codePoint >> 18)));
+				buffer.put(pos++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+				buffer.put(pos++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+				buffer.put(pos++, (byte) (0x80 | (codePoint & 0x3F)));
+			} else {
+				buffer.put(pos++, (byte) '?');
+			}
+		}
+	}
+
+	/**
+	 * Decodes UTF-8 bytes at an absolute position of the buffer. The position of the buffer does not change. <br>
+	 * Heap buffers are decoded straight from their array, which the String constructor copies once, or widens if it is not Latin-1.
+	 *
+	 * @param scratch An array to copy bytes of a direct buffer into, or null.
+	 */
+	public static final String decode(final ByteBuffer buffer, final int pos, final int length, @Nullable final byte[] scratch) {
+		if (buffer.hasArray()) {
+			return new String(buffer.array(), buffer.arrayOffset() + pos, length, StandardCharsets.UTF_8);
+		}
+		final byte[] bytes = scratch != null && scratch.length >= length ? scratch : new byte[length];
+		buffer.get(pos, bytes, 0, length);
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private static boolean isPair(final String value, final int i, final int chars) {
+		return Character.isHighSurrogate(value.charAt(i)) && i + 1 < chars && Character.isLowSurrogate(value.charAt(i + 1));
+	}
+}
@@ -0,0 +1,120 @@
+package dev.notalpha.hyphen.scan;
+
+import dev.notalpha.hyphen.scan.struct.ClassStruct;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * The reflection {@link StructScanner} and the definitions need from a class, computed once per class for the whole process. <br>
+ * It only holds what the JVM reports. Annotation providers are applied on top by each scanner, so every factory shares the same entries.
+ */
+public final class ClassInfo {
+	private static final ClassValue<ClassInfo> CACHE = new ClassValue<>() {
+		@Override
+		protected ClassInfo computeValue(Class<?> type) {
+			return new ClassInfo(type);
+		}
+	};
+
+	public final Class<?> aClass;
+	public final List<TypeVariable<? extends Class<?>>> typeParameters;
+	// Java parses these again on every call, so they are kept per type parameter.
+	public final List<Annotation[]> typeParameterAnnotations;
+	public final List<AnnotatedType[]> typeParameterBounds;
+	@Nullable
+	public final AnnotatedType superclass;
+	public final List<AnnotatedType> interfaces;
+	/**
+	 * The declared non-static fields in declaration order.
+	 */
+	public final List<FieldInfo> fields;
+	// Names of the declared methods without parameters, which is what a getter looks like.
+	private final Set<String> getters = new HashSet<>();
+	private final Constructor<?>[] constructors;
+	@Nullable
+	private volatile List<ResolvedField> resolvedFields;
+
+	private ClassInfo(Class<?> aClass) {
+		this.aClass = aClass;
+		this.typeParameters = List.of(aClass.getTypeParameters());
+		var typeParameterAnnotations = new ArrayList<Annotation[]>();
+		var typeParameterBounds = new ArrayList<AnnotatedType[]>();
+		for (TypeVariable<? extends Class<?>> typeParameter : this.typeParameters) {
+			typeParameterAnnotations.add(typeParameter.getDeclaredAnnotations());
+			typeParameterBounds.add(typeParameter.getAnnotatedBounds());
+		}
+		this.typeParameterAnnotations = Collections.unmodifiableList(typeParameterAnnotations);
+		this.typeParameterBounds = Collections.unmodifiableList(typeParameterBounds);
+		this.superclass = aClass.getAnnotatedSuperclass();
+		this.interfaces = List.of(aClass.getAnnotatedInterfaces());
+
+		var fields = new ArrayList<FieldInfo>();
+		for (Field field : aClass.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) {
+				fields.add(new FieldInfo(field, field.getAnnotatedType()));
+			}
+		}
+		this.fields = Collections.unmodifiableList(fields);
+
+		for (Method method : aClass.getDeclaredMethods()) {
+			if (method.getParameterCount() == 0) {
+				this.getters.add(method.getName());
+			}
+		}
+		this.constructors = aClass.getDeclaredConstructors();
+	}
+
+	public static ClassInfo of(Class<?> aClass) {
+		return CACHE.get(aClass);
+	}
+
+	/**
+	 * @return if the class declares a method with this name and no parameters.
+	 */
+	public boolean hasGetter(String name) {
+		return this.getters.contains(name);
+	}
+
+	/**
+	 * The cached equivalent of {@link Class#getDeclaredConstructor(Class[])}.
+	 *
+	 * @return The constructor with exactly these parameters, or null if there is none.
+	 */
+	@Nullable
+	public Constructor<?> getDeclaredConstructor(Class<?>... parameters) {
+		for (Constructor<?> constructor : this.constructors) {
+			if (Arrays.equals(constructor.getParameterTypes(), parameters)) {
+				return constructor;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Every field of the class and its superclasses, with the type resolved from the view of this class. <br>
+	 * Type parameters of the class itself are erased, so these are the parameter types of a constructor that takes all fields.
+	 */
+	public List<ResolvedField> getResolvedFields() {
+		var resolvedFields = this.resolvedFields;
+		if (resolvedFields == null) {
+			// Annotations do not change the resolved classes, so this scan does not need any providers.
+			StructScanner scanner = new StructScanner();
+			var fields = new ArrayList<ResolvedField>();
+			for (StructField field : ((ClassStruct) scanner.scan(aClass, null)).getAllFields(scanner)) {
+				fields.add(new ResolvedField(field.field, field.type.getValueClass()));
+			}
+			resolvedFields = Collections.unmodifiableList(fields);
+			this.resolvedFields = resolvedFields;
+		}
+		return resolvedFields;
+	}
+
+	public record FieldInfo(Field field, AnnotatedType type) {
+	}
+
+	public record ResolvedField(Field field, Class<?> type) {
+	}
+}
@@ -140,13 +140,13 @@ public class StructScanner {
 			throw new IllegalStateException("my ass");
 		}
 
-		TypeVariable<? extends Class<?>>[] typeParameters = aClass.getTypeParameters();
+		ClassInfo info = ClassInfo.of(aClass);
 
 		var parameters = new ArrayList<ParameterStruct>();
-		for (TypeVariable<? extends Class<?>> typeParameter : typeParameters) {
+		for (int i = 0; i < info.typeParameters.size(); i++) {
 			parameters.add(new ParameterStruct(
-					getAnnotations(typeParameter), this.getBound(typeParameter.getAnnotatedBounds(), parent),
-					ClassStruct.OBJECT, typeParameter.getName()));
+					getAnnotations(info.typeParameters.get(i), info.typeParameterAnnotations.get(i)), this.getBound(info.typeParameterBounds.get(i), parent),
+					ClassStruct.OBJECT, info.typeParameters.get(i).getName()));
 		}
 		return new ClassStruct(getAnnotations(aClass, annotatedElement), aClass, parameters);
 	}
@@ -158,14 +158,16 @@ public class StructScanner {
 		// We scan both the actual parameters and the raw ones. This is because java does not have an AnnotatedTypeVariable
 		// but instead merges both the Annotation information and the Type information into TypeVariable.
 		// Why they do this, I have no idea but here we are.
-		var typeParameters = aClass.getTypeParameters();
+		var info = ClassInfo.of(aClass);
+		var typeParameters = info.typeParameters;
 		var annotatedParameters = annotatedType.getAnnotatedActualTypeArguments();
 
 		// Preload all of our parameters
 		var parameters = new ArrayList<ParameterStruct>();
-		for (var typeParameter : typeParameters) {
+		for (int i = 0; i < typeParameters.size(); i++) {
+			var typeParameter = typeParameters.get(i);
 			parameters.add(new ParameterStruct(
-					getAnnotations(typeParameter),
+					getAnnotations(typeParameter, info.typeParameterAnnotations.get(i)),
 					ClassStruct.OBJECT,
 					ClassStruct.OBJECT,
 					typeParameter.getName())
@@ -180,11 +182,10 @@ public class StructScanner {
 		}
 
 
-		for (int i = 0; i < typeParameters.length; i++) {
+		for (int i = 0; i < typeParameters.size(); i++) {
 			var annotated = annotatedParameters[i];
-			var typeParameter = typeParameters[i];
 			ParameterStruct parameterStruct = parameters.get(i);
-			parameterStruct.bound = this.getBound(typeParameter.getAnnotatedBounds(), new StructParameters(parameters));
+			parameterStruct.bound = this.getBound(info.typeParameterBounds.get(i), new StructParameters(parameters));
 			parameterStruct.resolved = this.scan(annotated.getType(), annotated, structParameters);
 		}
 
@@ -255,23 +256,32 @@ public class StructScanner {
 		List<Annotation> annotationMap = new ArrayList<>();
 
 		for (AnnotatedElement annotatedElement : AnnotatedElement) {
-			List<Annotation> annotations = annotationProviders.get(annotatedElement);
-			if (annotations != null) {
-				annotationMap.addAll(annotations);
-			}
+			addAnnotations(annotationMap, annotatedElement, annotatedElement.getDeclaredAnnotations());
+		}
+		return annotationMap;
+	}
 
-			Annotation[] declaredAnnotations = annotatedElement.getDeclaredAnnotations();
-			for (Annotation declaredAnnotation : declaredAnnotations) {
-				if (declaredAnnotation instanceof DataGlobalAnnotation globalAnnotation) {
-					List<Annotation> annotations2 = annotationProviders.get(globalAnnotation.value());
-					if (annotations2 != null) {
-						annotationMap.addAll(annotations2);
-					}
+	private List<Annotation> getAnnotations(AnnotatedElement annotatedElement, Annotation[] declaredAnnotations) {
+		List<Annotation> annotationMap = new ArrayList<>();
+		addAnnotations(annotationMap, annotatedElement, declaredAnnotations);
+		return annotationMap;
+	}
+
+	private void addAnnotations(List<Annotation> annotationMap, AnnotatedElement annotatedElement, Annotation[] declaredAnnotations) {
+		List<Annotation> annotations = annotationProviders.get(annotatedElement);
+		if (annotations != null) {
+			annotationMap.addAll(annotations);
+		}
+
+		for (Annotation declaredAnnotation : declaredAnnotations) {
+			if (declaredAnnotation instanceof DataGlobalAnnotation globalAnnotation) {
+				List<Annotation> annotations2 = annotationProviders.get(globalAnnotation.value());
+				if (annotations2 != null) {
+					annotationMap.addAll(annotations2);
 				}
 			}
-			annotationMap.addAll(List.of(declaredAnnotations));
 		}
-		return annotationMap;
+		annotationMap.addAll(List.of(declaredAnnotations));
 	}
 
 	public static <T extends Annotation> T[] mergeArrays(T[]... arrays) {
@@ -0,0 +1,17 @@
+package dev.notalpha.hyphen.scan.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Writes the annotated list or array column by column instead of element by element. <br>
+ * Every field of the elements becomes one array of that field from all elements, written with the bulk array methods of the IO.
+ * The elements have to be non null classes with only primitive fields, which are always written at their full size.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE_USE)
+@HyphenAnnotation
+public @interface DataColumnar {
+}
@@ -0,0 +1,18 @@
+package dev.notalpha.hyphen.scan.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets single elements of the annotated list or array be decoded without the elements in front of them,
+ * see {@link dev.notalpha.hyphen.HyphenView#getElement(String, int)}. <br>
+ * Elements of a fixed size are found from their index, which keeps the encoding as it is.
+ * Others get a table of their offsets written ahead of them, which needs an IO implementing {@link dev.notalpha.hyphen.io.IOPatchInterface} to write.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE_USE)
+@HyphenAnnotation
+public @interface DataIndexed {
+}
@@ -0,0 +1,18 @@
+package dev.notalpha.hyphen.scan.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Writes the annotated int or long as a zigzag encoded variable length integer. <br>
+ * On arrays, collections, maps, buffers and strings the length gets written as a variable length integer instead.
+ *
+ * @see dev.notalpha.hyphen.Options#VAR_INTS
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE_USE)
+@HyphenAnnotation
+public @interface DataVarInt {
+}
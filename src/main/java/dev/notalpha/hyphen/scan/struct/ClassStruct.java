@@ -1,6 +1,7 @@
 package dev.notalpha.hyphen.scan.struct;
 
 
+import dev.notalpha.hyphen.scan.ClassInfo;
 import dev.notalpha.hyphen.scan.StructField;
 import dev.notalpha.hyphen.scan.StructParameters;
 import dev.notalpha.hyphen.scan.StructScanner;
@@ -10,8 +11,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedType;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -56,7 +55,7 @@ public class ClassStruct extends Struct {
 	@Nullable
 	public ClassStruct getSuper(StructScanner scanner) {
 		if (this.superStruct == null) {
-			AnnotatedType annotatedSuperclass = aClass.getAnnotatedSuperclass();
+			AnnotatedType annotatedSuperclass = ClassInfo.of(aClass).superclass;
 			if (annotatedSuperclass == null) {
 				this.superStruct = null;
 			} else if (annotatedSuperclass.getType() == Object.class) {
@@ -74,10 +73,10 @@ public class ClassStruct extends Struct {
 
 	public ClassStruct[] getInterfaces(StructScanner scanner) {
 		if (this.interfaceStructs == null) {
-			AnnotatedType[] annotatedInterfaces = aClass.getAnnotatedInterfaces();
-			this.interfaceStructs = new ClassStruct[annotatedInterfaces.length];
-			for (int i = 0; i < annotatedInterfaces.length; i++) {
-				AnnotatedType annotatedInterface = annotatedInterfaces[i];
+			List<AnnotatedType> annotatedInterfaces = ClassInfo.of(aClass).interfaces;
+			this.interfaceStructs = new ClassStruct[annotatedInterfaces.size()];
+			for (int i = 0; i < annotatedInterfaces.size(); i++) {
+				AnnotatedType annotatedInterface = annotatedInterfaces.get(i);
 				this.interfaceStructs[i] = (ClassStruct) scanner.scan(annotatedInterface, this.parameters);
 			}
 		}
@@ -91,12 +90,9 @@ public class ClassStruct extends Struct {
 	public List<StructField> getFields(StructScanner scanner) {
 		if (this.fields == null) {
 			var fields = new ArrayList<StructField>();
-			for (Field field : this.aClass.getDeclaredFields()) {
-				if (Modifier.isStatic(field.getModifiers())) {
-					continue;
-				}
-				Struct type = scanner.scan(field.getAnnotatedType(), this.parameters);
-				fields.add(new StructField(field, type));
+			for (ClassInfo.FieldInfo field : ClassInfo.of(this.aClass).fields) {
+				Struct type = scanner.scan(field.type(), this.parameters);
+				fields.add(new StructField(field.field(), type));
 			}
 			this.fields = fields;
 		}
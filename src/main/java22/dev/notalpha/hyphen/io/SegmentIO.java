@@ -0,0 +1,465 @@
+package dev.notalpha.hyphen.io;
+
+import dev.notalpha.hyphen.HyphenSerializer;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.*;
+
+/**
+ * <h2>The supported replacement of {@link UnsafeIO}.</h2>
+ * Built on the Foreign Function & Memory API, so it needs no internals and every access is bounds checked.
+ * Works over arena allocated, mapped and heap segments. Memory allocated by {@link #create(long)} is released as soon as the IO is closed. <br>
+ * Positions are reported as ints, so {@link #pos()} throws once the IO has moved past {@link Integer#MAX_VALUE} bytes.
+ */
+@SuppressWarnings({"FinalMethodInFinalClass", "FinalStaticMethod", "unused"})
+public final class SegmentIO implements IOPatchInterface, IOBufferInterface {
+	private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+	private static final ValueLayout.OfChar CHAR = ValueLayout.JAVA_CHAR_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+	private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+	// The arena this IO owns and closes, null if the segment is managed by someone else.
+	@Nullable
+	private final Arena arena;
+	private final MemorySegment segment;
+	private long pos;
+	// Strings of native segments are copied into this before decoding.
+	private byte[] scratch;
+
+	private SegmentIO(final MemorySegment segment, @Nullable final Arena arena) {
+		this.segment = segment;
+		this.arena = arena;
+	}
+
+	/**
+	 * Allocates a segment in a new confined arena. The memory gets released on {@link #close()}.
+	 */
+	public static final SegmentIO create(final long size) {
+		final Arena arena = Arena.ofConfined();
+		return new SegmentIO(arena.allocate(size, 8), arena);
+	}
+
+	/**
+	 * Allocates a segment in a new shared arena, which may be accessed from any thread. The memory gets released on {@link #close()}.
+	 */
+	public static final SegmentIO createShared(final long size) {
+		final Arena arena = Arena.ofShared();
+		return new SegmentIO(arena.allocate(size, 8), arena);
+	}
+
+	/**
+	 * Allocates a segment in the given arena. The memory is released once the arena is closed.
+	 */
+	public static final SegmentIO allocate(final Arena arena, final long size) {
+		return new SegmentIO(arena.allocate(size, 8), null);
+	}
+
+	public static final <O> SegmentIO create(final HyphenSerializer<SegmentIO, O> serializer, final O data) {
+		return create(serializer.measure(data));
+	}
+
+	/**
+	 * Wraps any segment, for example one returned by {@link java.nio.channels.FileChannel#map(java.nio.channels.FileChannel.MapMode, long, long, Arena)}.
+	 */
+	public static final SegmentIO wrap(final MemorySegment segment) {
+		return new SegmentIO(segment, null);
+	}
+
+	public static final SegmentIO wrap(final byte[] array) {
+		return new SegmentIO(MemorySegment.ofArray(array), null);
+	}
+
+	// ======================================= FUNC ======================================= //
+	@Override
+	public final void rewind() {
+		pos = 0;
+	}
+
+	@Override
+	public final int pos() {
+		return Math.toIntExact(pos);
+	}
+
+	@Override
+	public final void seek(final int pos) {
+		this.pos = pos;
+	}
+
+	@Override
+	public final int reserveInt() {
+		final int slot = Math.toIntExact(pos);
+		pos += 4;
+		return slot;
+	}
+
+	@Override
+	public final void patchInt(final int pos, final int value) {
+		segment.set(INT, pos, value);
+	}
+
+	@Override
+	public final void close() {
+		if (arena != null) {
+			arena.close();
+		}
+	}
+
+	public final MemorySegment segment() {
+		return segment;
+	}
+
+	// ======================================== GET ======================================== //
+	@Override
+	public final boolean getBoolean() {
+		return getByte() != 0;
+	}
+
+	@Override
+	public final byte getByte() {
+		return segment.get(BYTE, pos++);
+	}
+
+	@Override
+	public final char getChar() {
+		final char c = segment.get(CHAR, pos);
+		pos += 2;
+		return c;
+	}
+
+	@Override
+	public final short getShort() {
+		final short s = segment.get(SHORT, pos);
+		pos += 2;
+		return s;
+	}
+
+	@Override
+	public final int getInt() {
+		final int i = segment.get(INT, pos);
+		pos += 4;
+		return i;
+	}
+
+	@Override
+	public final long getLong() {
+		final long l = segment.get(LONG, pos);
+		pos += 8;
+		return l;
+	}
+
+	@Override
+	public final float getFloat() {
+		final float f = segment.get(FLOAT, pos);
+		pos += 4;
+		return f;
+	}
+
+	@Override
+	public final double getDouble() {
+		final double d = segment.get(DOUBLE, pos);
+		pos += 8;
+		return d;
+	}
+
+	@Override
+	public final String getString() {
+		return getUtf8(getInt());
+	}
+
+	@Override
+	public final String getUtf8(final int length) {
+		// Heap segments are decoded from their array, others get copied into the scratch array first.
+		if (scratch == null && segment.isNative()) {
+			scratch = new byte[Utf8.SCRATCH_SIZE];
+		}
+		final String value = Utf8.decode(segment.asSlice(pos, length).asByteBuffer(), 0, length, scratch);
+		pos += length;
+		return value;
+	}
+
+	@Override
+	public final void skip(final int length) {
+		pos += length;
+	}
+
+	@Override
+	public final void skipString() {
+		skip(getInt());
+	}
+
+	// ======================================== PUT ======================================== //
+	@Override
+	public final void putBoolean(final boolean value) {
+		putByte((byte) (value ? 1 : 0));
+	}
+
+	@Override
+	public final void putByte(final byte value) {
+		segment.set(BYTE, pos++, value);
+	}
+
+	@Override
+	public final void putChar(final char value) {
+		segment.set(CHAR, pos, value);
+		pos += 2;
+	}
+
+	@Override
+	public final void putShort(final short value) {
+		segment.set(SHORT, pos, value);
+		pos += 2;
+	}
+
+	@Override
+	public final void putInt(final int value) {
+		segment.set(INT, pos, value);
+		pos += 4;
+	}
+
+	@Override
+	public final void putLong(final long value) {
+		segment.set(LONG, pos, value);
+		pos += 8;
+	}
+
+	@Override
+	public final void putFloat(final float value) {
+		segment.set(FLOAT, pos, value);
+		pos += 4;
+	}
+
+	@Override
+	public final void putDouble(final double value) {
+		segment.set(DOUBLE, pos, value);
+		pos += 8;
+	}
+
+	@Override
+	public final void putString(final String value) {
+		final int length = Utf8.length(value);
+		putInt(length);
+		putUtf8(value, length);
+	}
+
+	@Override
+	public final void putUtf8(final String value, final int length) {
+		// Heap segments are encoded into their array, others byte by byte.
+		Utf8.encode(value, segment.asSlice(pos, length).asByteBuffer(), 0);
+		pos += length;
+	}
+
+	// ====================================== GET_ARR ======================================== //
+	@Override
+	public final boolean[] getBooleanArray(final int length) {
+		final boolean[] out = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getByte() != 0;
+		}
+		return out;
+	}
+
+	@Override
+	public final byte[] getByteArray(final int length) {
+		final byte[] out = new byte[length];
+		MemorySegment.copy(segment, BYTE, pos, out, 0, length);
+		pos += length;
+		return out;
+	}
+
+	@Override
+	public final char[] getCharArray(final int length) {
+		final char[] out = new char[length];
+		MemorySegment.copy(segment, CHAR, pos, out, 0, length);
+		pos += length * 2L;
+		return out;
+	}
+
+	@Override
+	public final short[] getShortArray(final int length) {
+		final short[] out = new short[length];
+		MemorySegment.copy(segment, SHORT, pos, out, 0, length);
+		pos += length * 2L;
+		return out;
+	}
+
+	@Override
+	public final int[] getIntArray(final int length) {
+		final int[] out = new int[length];
+		MemorySegment.copy(segment, INT, pos, out, 0, length);
+		pos += length * 4L;
+		return out;
+	}
+
+	@Override
+	public final long[] getLongArray(final int length) {
+		final long[] out = new long[length];
+		MemorySegment.copy(segment, LONG, pos, out, 0, length);
+		pos += length * 8L;
+		return out;
+	}
+
+	@Override
+	public final float[] getFloatArray(final int length) {
+		final float[] out = new float[length];
+		MemorySegment.copy(segment, FLOAT, pos, out, 0, length);
+		pos += length * 4L;
+		return out;
+	}
+
+	@Override
+	public final double[] getDoubleArray(final int length) {
+		final double[] out = new double[length];
+		MemorySegment.copy(segment, DOUBLE, pos, out, 0, length);
+		pos += length * 8L;
+		return out;
+	}
+
+	@Override
+	public final String[] getStringArray(final int length) {
+		final String[] out = new String[length];
+		for (int i = 0; i < length; i++) {
+			out[i] = getString();
+		}
+		return out;
+	}
+
+	// ====================================== PUT_ARR ======================================== //
+	@Override
+	public final void putBooleanArray(final boolean[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putByte((byte) (value[i] ? 1 : 0));
+		}
+	}
+
+	@Override
+	public final void putByteArray(final byte[] value, final int length) {
+		MemorySegment.copy(value, 0, segment, BYTE, pos, length);
+		pos += length;
+	}
+
+	@Override
+	public final void putCharArray(final char[] value, final int length) {
+		MemorySegment.copy(value, 0, segment, CHAR, pos, length);
+		pos += length * 2L;
+	}
+
+	@Override
+	public final void putShortArray(final short[] value, final int length) {
+		MemorySegment.copy(value, 0, segment, SHORT, pos, length);
+		pos += length * 2L;
+	}
+
+	@Override
+	public final void putIntArray(final int[] value, final int length) {
+		MemorySegment.copy(value, 0, segment, INT, pos, length);
+		pos += length * 4L;
+	}
+
+	@Override
+	public final void putLongArray(final long[] value, final int length) {
+		MemorySegment.copy(value, 0, segment, LONG, pos, length);
+		pos += length * 8L;
+	}
+
+	@Override
+	public final void putFloatArray(final float[] value, final int length) {
+		MemorySegment.copy(value, 0, segment, FLOAT, pos, length);
+		pos += length * 4L;
+	}
+
+	@Override
+	public final void putDoubleArray(final double[] value, final int length) {
+		MemorySegment.copy(value, 0, segment, DOUBLE, pos, length);
+		pos += length * 8L;
+	}
+
+	@Override
+	public final void putStringArray(final String[] value, final int length) {
+		for (int i = 0; i < length; i++) {
+			putString(value[i]);
+		}
+	}
+
+	// ====================================== BUFFER ======================================== //
+	private ByteBuffer view(final int size) {
+		final ByteBuffer view = segment.asSlice(pos, size).asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+		pos += size;
+		return view;
+	}
+
+	@Override
+	public final void getByteBuffer(final ByteBuffer buffer, final int length) {
+		buffer.put(view(length));
+	}
+
+	@Override
+	public final void getCharBuffer(final CharBuffer buffer, final int length) {
+		buffer.put(view(length * 2).asCharBuffer());
+	}
+
+	@Override
+	public final void getShortBuffer(final ShortBuffer buffer, final int length) {
+		buffer.put(view(length * 2).asShortBuffer());
+	}
+
+	@Override
+	public final void getIntBuffer(final IntBuffer buffer, final int length) {
+		buffer.put(view(length * 4).asIntBuffer());
+	}
+
+	@Override
+	public final void getLongBuffer(final LongBuffer buffer, final int length) {
+		buffer.put(view(length * 8).asLongBuffer());
+	}
+
+	@Override
+	public final void getFloatBuffer(final FloatBuffer buffer, final int length) {
+		buffer.put(view(length * 4).asFloatBuffer());
+	}
+
+	@Override
+	public final void getDoubleBuffer(final DoubleBuffer buffer, final int length) {
+		buffer.put(view(length * 8).asDoubleBuffer());
+	}
+
+	@Override
+	public final void putByteBuffer(final ByteBuffer buffer, final int length) {
+		view(length).put(buffer.slice(0, length));
+	}
+
+	@Override
+	public final void putCharBuffer(final CharBuffer buffer, final int length) {
+		view(length * 2).asCharBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public final void putShortBuffer(final ShortBuffer buffer, final int length) {
+		view(length * 2).asShortBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public final void putIntBuffer(final IntBuffer buffer, final int length) {
+		view(length * 4).asIntBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public final void putLongBuffer(final LongBuffer buffer, final int length) {
+		view(length * 8).asLongBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public final void putFloatBuffer(final FloatBuffer buffer, final int length) {
+		view(length * 4).asFloatBuffer().put(buffer.slice(0, length));
+	}
+
+	@Override
+	public final void putDoubleBuffer(final DoubleBuffer buffer, final int length) {
+		view(length * 8).asDoubleBuffer().put(buffer.slice(0, length));
+	}
+}
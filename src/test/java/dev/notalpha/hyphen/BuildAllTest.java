@@ -0,0 +1,79 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.codegen.def.PrimitiveIODef;
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.test.simple.PrimitiveTest;
+import dev.notalpha.hyphen.test.simple.VarIntTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BuildAllTest {
+	@Test
+	@SuppressWarnings("unchecked")
+	void buildsConcurrently() {
+		List<SerializerFactory<?, ?>> factories = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			Class<?> dataClass = i % 2 == 0 ? PrimitiveTest.class : VarIntTest.class;
+			factories.add(SerializerFactory.create(ByteBufferIO.class, dataClass));
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(8);
+		try {
+			List<HyphenSerializer<?, ?>> serializers = SerializerFactory.buildAll(factories, pool);
+			Assertions.assertEquals(factories.size(), serializers.size());
+			Assertions.assertEquals(factories.size(), new HashSet<>(serializers).size());
+			for (HyphenSerializer<?, ?> serializer : serializers) {
+				// Every serializer has to be the one its own class initializer created.
+				var definer = (ClassDefiner) serializer.getClass().getClassLoader();
+				Assertions.assertSame(serializer, definer.getSerializer());
+			}
+			Assertions.assertEquals(4, ((HyphenSerializer<ByteBufferIO, PrimitiveTest>) serializers.get(0)).measure(new PrimitiveTest(1)));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void buildsSharedStaticDefsSerially() {
+		AtomicInteger scanning = new AtomicInteger();
+		AtomicInteger overlaps = new AtomicInteger();
+		PrimitiveIODef shared = new PrimitiveIODef(int.class) {
+			@Override
+			public void scan(SerializerGenerator<?, ?> handler) {
+				if (scanning.incrementAndGet() > 1) {
+					overlaps.incrementAndGet();
+				}
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				super.scan(handler);
+				scanning.decrementAndGet();
+			}
+		};
+
+		List<SerializerFactory<?, ?>> factories = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			var factory = SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class);
+			factory.addStaticDef(int.class, shared);
+			factories.add(factory);
+			factories.add(SerializerFactory.create(ByteBufferIO.class, VarIntTest.class));
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(8);
+		try {
+			List<HyphenSerializer<?, ?>> serializers = SerializerFactory.buildAll(factories, pool);
+			Assertions.assertEquals(factories.size(), new HashSet<>(serializers).size());
+			Assertions.assertEquals(0, overlaps.get());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.*;
+import dev.notalpha.hyphen.scan.annotations.DataColumnar;
+import dev.notalpha.hyphen.scan.annotations.DataFixedArraySize;
+import dev.notalpha.hyphen.scan.annotations.DataVarInt;
+import dev.notalpha.hyphen.thr.HyphenException;
+import dev.notalpha.hyphen.util.RecursiveTestUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class ColumnarTest {
+	private static final Table TABLE = new Table(
+			List.of(new Sample(1L, 0.5, 2, true, (byte) 3, 'a', (short) 4, 1.5f), new Sample(-5L, -2.25, 6, false, (byte) -7, 'z', (short) -8, 0f)),
+			new Point[]{new Point(1, 2), new Point(3, 4), new Point(5, 6)},
+			List.of(new Point(7, 8), new Point(9, 10)),
+			List.of(),
+			"tail"
+	);
+
+	private static <IO extends IOInterface> void test(SerializerFactory<IO, Table> factory, IntFunction<IO> create) {
+		var serializer = factory.build();
+
+		IO io = create.apply((int) serializer.measure(TABLE));
+		serializer.put(io, TABLE);
+		int end = io.pos();
+		Assertions.assertEquals(serializer.measure(TABLE), end);
+		io.rewind();
+		Assertions.assertEquals(TABLE, serializer.get(io));
+		Assertions.assertEquals(end, io.pos());
+		io.rewind();
+		serializer.skip(io);
+		Assertions.assertEquals(end, io.pos());
+		io.close();
+	}
+
+	@Test
+	void writesColumns() {
+		RecursiveTestUtil.testInlineIO(Table.class, ColumnarTest::test);
+	}
+
+	@Test
+	void columnLayout() {
+		var serializer = SerializerFactory.create(ArrayIO.class, Points.class).build();
+		var data = new Points(List.of(new Point(1, 2), new Point(3, 4), new Point(5, 6)));
+		var io = ArrayIO.create((int) serializer.measure(data));
+		serializer.put(io, data);
+		io.rewind();
+		Assertions.assertEquals(3, io.getInt());
+		Assertions.assertArrayEquals(new int[]{1, 3, 5}, io.getIntArray(3));
+		Assertions.assertArrayEquals(new int[]{2, 4, 6}, io.getIntArray(3));
+	}
+
+	@Test
+	void onlyPrimitiveFields() {
+		Assertions.assertThrows(HyphenException.class, () -> SerializerFactory.create(ArrayIO.class, Invalid.class).build());
+	}
+
+	public record Point(int x, int y) {
+	}
+
+	public record Sample(long time, double value, int id, boolean ok, byte b, char c, short s, float f) {
+	}
+
+	public record Named(int id, String name) {
+	}
+
+	public record Points(@DataColumnar List<Point> points) {
+	}
+
+	public record Invalid(@DataColumnar List<Named> named) {
+	}
+
+	public record Table(@DataColumnar List<Sample> samples, Point @DataColumnar [] points, @DataColumnar @DataFixedArraySize(2) List<Point> pair,
+						@DataColumnar @DataVarInt List<Point> empty, String tail) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Table table && samples.equals(table.samples) && Arrays.equals(points, table.points) && pair.equals(table.pair)
+					&& empty.equals(table.empty) && tail.equals(table.tail);
+		}
+
+		@Override
+		public int hashCode() {
+			return samples.hashCode();
+		}
+	}
+}
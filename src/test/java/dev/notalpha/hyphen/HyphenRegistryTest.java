@@ -0,0 +1,51 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.test.simple.PrimitiveTest;
+import dev.notalpha.hyphen.test.simple.VarIntTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public class HyphenRegistryTest {
+	@Test
+	void reusesEqualFactories() {
+		HyphenRegistry registry = new HyphenRegistry();
+		var first = registry.get(SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class));
+		var second = registry.get(SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class));
+		Assertions.assertSame(first, second);
+		Assertions.assertEquals(4, second.measure(new PrimitiveTest(1)));
+
+		Assertions.assertNotSame(first, registry.get(SerializerFactory.create(ByteBufferIO.class, VarIntTest.class)));
+		var compact = SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class);
+		compact.setOption(Options.COMPACT_BOOLEANS, !Options.COMPACT_BOOLEANS.defaultValue);
+		Assertions.assertNotSame(first, registry.get(compact));
+		var renamed = SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class);
+		renamed.setClassName("RenamedSerializer");
+		Assertions.assertNotSame(first, registry.get(renamed));
+		Assertions.assertEquals(4, registry.size());
+
+		Assertions.assertTrue(registry.remove(SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class)));
+		Assertions.assertNotSame(first, registry.get(SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class)));
+	}
+
+	@Test
+	void buildsOnceConcurrently() {
+		HyphenRegistry registry = new HyphenRegistry();
+		ForkJoinPool pool = new ForkJoinPool(8);
+		try {
+			HyphenSerializer<?, ?>[] serializers = new HyphenSerializer[64];
+			pool.submit(() -> IntStream.range(0, serializers.length).parallel()
+					.forEach(i -> serializers[i] = registry.get(SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class)))
+			).join();
+			Assertions.assertEquals(1, new HashSet<>(Arrays.asList(serializers)).size());
+			Assertions.assertEquals(1, registry.size());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
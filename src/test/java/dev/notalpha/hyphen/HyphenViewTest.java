@@ -0,0 +1,78 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.IOInterface;
+import dev.notalpha.hyphen.io.StreamIO;
+import dev.notalpha.hyphen.scan.annotations.DataNullable;
+import dev.notalpha.hyphen.thr.HyphenException;
+import dev.notalpha.hyphen.util.RecursiveTestUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class HyphenViewTest {
+	private static final Data DATA = new Data(1, true, "name", null, List.of("a", "bc"), new Point(2, 3.5), false, 4L, new Point(5, 6));
+	private static final Data NEXT = new Data(2, false, "", new Point(7, 8), List.of(), new Point(9, 10), true, 11L, new Point(12, 13));
+
+	private static <IO extends IOInterface> void test(SerializerFactory<IO, Data> factory, IntFunction<IO> create) {
+		var viewer = factory.buildViewer();
+		var serializer = viewer.serializer();
+
+		IO io = create.apply((int) (serializer.measure(DATA) + serializer.measure(NEXT)) + 2);
+		io.putShort((short) 7);
+		serializer.put(io, DATA);
+		int end = io.pos();
+		serializer.put(io, NEXT);
+
+		// Out of order, so offsets are found both by skipping and from earlier accesses.
+		var view = viewer.view(io, 2);
+		Assertions.assertEquals(4L, (Long) view.get("after"));
+		Assertions.assertEquals("name", view.get("name"));
+		Assertions.assertEquals(1, (Integer) view.get("id"));
+		Assertions.assertEquals(true, view.get("flag"));
+		Assertions.assertEquals(false, view.get("other"));
+		Assertions.assertNull(view.get("missing"));
+		Assertions.assertNull(view.view("missing"));
+		Assertions.assertEquals(List.of("a", "bc"), view.get("tags"));
+		Assertions.assertEquals(new Point(2, 3.5), view.get("point"));
+		Assertions.assertEquals(end, view.end());
+
+		var point = viewer.view(io, 2).view("last");
+		Assertions.assertNotNull(point);
+		Assertions.assertEquals(6.0, (Double) point.get("y"));
+		Assertions.assertEquals(5, (Integer) point.get(point.indexOf("x")));
+		Assertions.assertEquals(end, point.end());
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> view.get("unknown"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> view.view("name"));
+
+		var next = viewer.view(io, end);
+		Assertions.assertEquals(new Point(7, 8), next.get("missing"));
+		Assertions.assertEquals(8.0, (Double) next.view("missing").get("y"));
+		Assertions.assertEquals(11L, (Long) next.get("after"));
+		Assertions.assertEquals(true, next.get("other"));
+
+		io.rewind();
+		Assertions.assertEquals(7, io.getShort());
+		Assertions.assertEquals(DATA, serializer.get(io));
+		Assertions.assertEquals(NEXT, serializer.get(io));
+		io.close();
+	}
+
+	@Test
+	void readsSingleFields() {
+		RecursiveTestUtil.testInlineIO(Data.class, HyphenViewTest::test);
+	}
+
+	@Test
+	void needsSeekableIO() {
+		Assertions.assertThrows(HyphenException.class, () -> SerializerFactory.create(StreamIO.class, Data.class).buildViewer());
+	}
+
+	public record Point(int x, double y) {
+	}
+
+	public record Data(int id, boolean flag, String name, @DataNullable Point missing, List<String> tags, Point point, boolean other, long after, Point last) {
+	}
+}
@@ -0,0 +1,141 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.*;
+import dev.notalpha.hyphen.scan.annotations.DataFixedArraySize;
+import dev.notalpha.hyphen.scan.annotations.DataIndexed;
+import dev.notalpha.hyphen.scan.annotations.DataNullable;
+import dev.notalpha.hyphen.thr.HyphenException;
+import dev.notalpha.hyphen.util.RecursiveTestUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class IndexedTest {
+	private static final Table TABLE = new Table(
+			List.of(new Point(1, 2), new Point(3, 4), new Point(5, 6)),
+			Arrays.asList("a", null, "ccc", ""),
+			new Row[]{new Row(7, "x", List.of()), new Row(8, "yy", List.of(1, 2))},
+			List.of("z"),
+			List.of(new Row(9, "w", List.of(3)), new Row(10, "", List.of()), new Row(11, "v", List.of(4, 5, 6)))
+	);
+
+	private static <IO extends IOInterface> void test(SerializerFactory<IO, Table> factory, IntFunction<IO> create) {
+		var viewer = factory.buildViewer();
+		var serializer = viewer.serializer();
+
+		IO io = create.apply((int) serializer.measure(TABLE) + 1);
+		serializer.put(io, TABLE);
+		int end = io.pos();
+		Assertions.assertEquals(serializer.measure(TABLE), end);
+		io.putByte((byte) 3);
+
+		io.rewind();
+		Assertions.assertEquals(TABLE, serializer.get(io));
+		Assertions.assertEquals(end, io.pos());
+		io.rewind();
+		serializer.skip(io);
+		Assertions.assertEquals(end, io.pos());
+
+		var view = viewer.view(io, 0);
+		// Backwards, so no element is found by reading the ones in front of it.
+		for (int i = TABLE.rows.size() - 1; i >= 0; i--) {
+			Assertions.assertEquals(TABLE.rows.get(i), view.getElement("rows", i));
+		}
+		for (int i = TABLE.points.size() - 1; i >= 0; i--) {
+			Assertions.assertEquals(TABLE.points.get(i), view.getElement("points", i));
+		}
+		for (int i = TABLE.names.size() - 1; i >= 0; i--) {
+			Assertions.assertEquals(TABLE.names.get(i), view.getElement("names", i));
+		}
+		for (int i = TABLE.array.length - 1; i >= 0; i--) {
+			Assertions.assertEquals(TABLE.array[i], view.getElement("array", i));
+		}
+		Assertions.assertEquals(end, view.end());
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.getElement("rows", 3));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> view.getElement("array", -1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> view.getElement("plain", 0));
+		io.close();
+	}
+
+	@Test
+	void readsSingleElements() {
+		RecursiveTestUtil.testInlineIO(Table.class, IndexedTest::test);
+	}
+
+	@Test
+	void fixedStrideKeepsEncoding() {
+		var indexed = SerializerFactory.create(ArrayIO.class, Strided.class).build();
+		var plain = SerializerFactory.create(ArrayIO.class, Plain.class).build();
+		List<Point> points = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			points.add(new Point(i, -i));
+		}
+		var data = new Strided(points);
+
+		ArrayIO io = ArrayIO.create((int) indexed.measure(data));
+		indexed.put(io, data);
+		Assertions.assertEquals(plain.measure(new Plain(points)), io.pos());
+		io.rewind();
+		Assertions.assertEquals(new Plain(points), plain.get(io));
+
+		// Elements of a fixed size need no patching.
+		SerializerFactory.create(StreamIO.class, Strided.class).build();
+	}
+
+	@Test
+	void fixedSizeList() {
+		var viewer = SerializerFactory.create(ByteBufferIO.class, Fixed.class).buildViewer();
+		var data = new Fixed(Arrays.asList("a", null, "b"));
+		var serializer = viewer.serializer();
+		var io = ByteBufferIO.create(serializer, data);
+		serializer.put(io, data);
+		int end = io.pos();
+		Assertions.assertEquals(serializer.measure(data), end);
+		io.rewind();
+		Assertions.assertEquals(data, serializer.get(io));
+
+		var view = viewer.view(io, 0);
+		Assertions.assertEquals("b", view.getElement("strings", 2));
+		Assertions.assertNull(view.getElement("strings", 1));
+		Assertions.assertEquals(end, view.end());
+	}
+
+	@Test
+	void offsetsNeedPatching() {
+		Assertions.assertThrows(HyphenException.class, () -> SerializerFactory.create(StreamIO.class, Table.class).build());
+	}
+
+	public record Point(int x, int y) {
+	}
+
+	public record Row(int id, String name, List<Integer> values) {
+	}
+
+	public record Table(@DataIndexed List<Point> points, @DataIndexed List<@DataNullable String> names, Row @DataIndexed [] array, List<String> plain,
+						@DataIndexed List<Row> rows) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Table table && points.equals(table.points) && names.equals(table.names) && Arrays.equals(array, table.array)
+					&& plain.equals(table.plain) && rows.equals(table.rows);
+		}
+
+		@Override
+		public int hashCode() {
+			return points.hashCode();
+		}
+	}
+
+	public record Strided(@DataIndexed List<Point> points) {
+	}
+
+	public record Plain(List<Point> points) {
+	}
+
+	public record Fixed(@DataIndexed @DataFixedArraySize(3) List<@DataNullable String> strings) {
+	}
+}
@@ -0,0 +1,74 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.scan.annotations.DataFixedArraySize;
+import dev.notalpha.hyphen.scan.annotations.DataNullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+public class MeasureFoldingTest {
+	private static <D> HyphenSerializer<ByteBufferIO, D> build(Class<D> dataClass) {
+		return SerializerFactory.createDebug(ByteBufferIO.class, dataClass).build();
+	}
+
+	// Every measure method besides the one from the interface.
+	private static List<String> measureMethods(HyphenSerializer<?, ?> serializer) {
+		return Arrays.stream(serializer.getClass().getDeclaredMethods())
+				.map(Method::getName)
+				.filter(name -> name.startsWith("measure") && !name.equals("measure"))
+				.toList();
+	}
+
+	private static <D> void assertMeasure(HyphenSerializer<ByteBufferIO, D> serializer, D data) {
+		var io = ByteBufferIO.create(serializer, data);
+		serializer.put(io, data);
+		Assertions.assertEquals(io.pos(), serializer.measure(data));
+		io.rewind();
+		Assertions.assertEquals(data, serializer.get(io));
+	}
+
+	@Test
+	void fixedGraphIsConstant() {
+		var serializer = build(Fixed.class);
+		Assertions.assertEquals(List.of(), measureMethods(serializer));
+		Assertions.assertEquals(4 + 8 + 1 + 2 + 1 + 12, serializer.measure(new Fixed(1, 2, Shape.CIRCLE, new Inner((short) 3, true), new int[3])));
+		assertMeasure(serializer, new Fixed(1, 2, Shape.SQUARE, new Inner((short) 3, false), new int[3]));
+	}
+
+	@Test
+	void onlyDynamicPartsAreMeasured() {
+		var serializer = build(Mixed.class);
+		List<String> methods = measureMethods(serializer);
+		Assertions.assertTrue(methods.stream().noneMatch(name -> name.contains("Fixed") || name.contains("Inner")), methods.toString());
+		assertMeasure(serializer, new Mixed("hello", new Fixed(1, 2, Shape.CIRCLE, new Inner((short) 3, true), new int[3]), null, Set.of(1, 2, 3)));
+		assertMeasure(serializer, new Mixed("", new Fixed(1, 2, Shape.CIRCLE, new Inner((short) 3, true), new int[3]), new Inner((short) 4, true), Set.of()));
+	}
+
+	public enum Shape {
+		CIRCLE,
+		SQUARE
+	}
+
+	public record Inner(short s, boolean b) {
+	}
+
+	public record Fixed(int a, long b, Shape shape, Inner inner, int @DataFixedArraySize(3) [] array) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Fixed fixed && a == fixed.a && b == fixed.b && shape == fixed.shape && inner.equals(fixed.inner) && Arrays.equals(array, fixed.array);
+		}
+
+		@Override
+		public int hashCode() {
+			return a;
+		}
+	}
+
+	public record Mixed(String string, Fixed fixed, @DataNullable Inner inner, Set<Integer> set) {
+	}
+}
@@ -0,0 +1,33 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.test.poly.general.Arrays;
+import dev.notalpha.hyphen.test.poly.general.DoubleC1Pain;
+import dev.notalpha.hyphen.test.simple.VarIntTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ParallelGenerationTest {
+	private static byte[] generate(Class<?> dataClass, Path path, int threshold) throws IOException {
+		var factory = SerializerFactory.createDebug(ByteBufferIO.class, dataClass);
+		factory.setExportPath(path);
+		var generator = factory.generator();
+		generator.setParallelThreshold(threshold);
+		generator.build();
+		return Files.readAllBytes(path);
+	}
+
+	@Test
+	void sameAsSerial(@TempDir Path dir) throws IOException {
+		for (Class<?> dataClass : new Class[]{DoubleC1Pain.class, Arrays.class, VarIntTest.class}) {
+			byte[] serial = generate(dataClass, dir.resolve("serial.class"), Integer.MAX_VALUE);
+			byte[] parallel = generate(dataClass, dir.resolve("parallel.class"), 1);
+			Assertions.assertArrayEquals(serial, parallel, dataClass.getName());
+		}
+	}
+}
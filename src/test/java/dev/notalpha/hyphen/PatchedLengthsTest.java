@@ -0,0 +1,69 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.*;
+import dev.notalpha.hyphen.util.RecursiveTestUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+public class PatchedLengthsTest {
+	private static final Data DATA = new Data(
+			new TreeSet<>(Set.of("a", "bb", "ccc")),
+			new TreeMap<>(Map.of(1, List.of("x"), 2, List.of(), 3, List.of("y", "z"))),
+			new LyingSet(List.of(4, 5, 6))
+	);
+	// What DATA holds, with a set that can be measured and compared.
+	private static final Data EXPECTED = new Data(DATA.set, DATA.map, new HashSet<>(List.of(4, 5, 6)));
+
+	private static <IO extends IOInterface> void test(SerializerFactory<IO, Data> factory, IntFunction<IO> create) {
+		factory.setOption(Options.PATCHED_LENGTHS, true);
+		var serializer = factory.build();
+
+		IO io = create.apply((int) serializer.measure(EXPECTED));
+		serializer.put(io, DATA);
+		Assertions.assertEquals(serializer.measure(EXPECTED), io.pos());
+		io.rewind();
+		Assertions.assertEquals(EXPECTED, serializer.get(io));
+		io.close();
+	}
+
+	@Test
+	void patchesLengths() {
+		RecursiveTestUtil.testInlineIO(Data.class, PatchedLengthsTest::test);
+	}
+
+	@Test
+	void growable() {
+		var factory = SerializerFactory.create(GrowableArrayIO.class, Data.class);
+		factory.setOption(Options.PATCHED_LENGTHS, true);
+		var serializer = factory.build();
+		GrowableArrayIO io = serializer.putGrowing(DATA);
+		Assertions.assertEquals(serializer.measure(EXPECTED), io.pos());
+		io.rewind();
+		Assertions.assertEquals(EXPECTED, serializer.get(io));
+	}
+
+	public record Data(Set<String> set, Map<Integer, List<String>> map, Set<Integer> lying) {
+	}
+
+	// The written length has to come from the entries, not from size().
+	public static class LyingSet extends AbstractSet<Integer> {
+		private final List<Integer> values;
+
+		public LyingSet(List<Integer> values) {
+			this.values = values;
+		}
+
+		@Override
+		public Iterator<Integer> iterator() {
+			return values.iterator();
+		}
+
+		@Override
+		public int size() {
+			return values.isEmpty() ? 0 : 1;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.test.simple.PrimitiveTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class PregenerateTest {
+	private static final String CLASS_NAME = "dev.notalpha.hyphen.pregenerated.PrimitiveTestSerializer";
+
+	private static SerializerFactory<ByteBufferIO, PrimitiveTest> factory() {
+		var factory = SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class);
+		factory.setClassName(CLASS_NAME);
+		factory.setOption(Options.PREGENERATED, true);
+		return factory;
+	}
+
+	@Test
+	void loadsPregenerated(@TempDir Path dir) throws IOException {
+		Path path = Pregenerator.export(factory(), dir);
+		Assertions.assertTrue(Files.isRegularFile(path));
+
+		try (var loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, getClass().getClassLoader())) {
+			var factory = factory();
+			factory.setClassLoader(loader);
+			var serializer = factory.build();
+			Assertions.assertSame(loader, serializer.getClass().getClassLoader());
+
+			var io = ByteBufferIO.create(serializer, new PrimitiveTest(69));
+			serializer.put(io, new PrimitiveTest(69));
+			io.rewind();
+			Assertions.assertEquals(new PrimitiveTest(69), serializer.get(io));
+		}
+	}
+
+	@Test
+	void ignoresStale(@TempDir Path dir) throws IOException {
+		var stale = factory();
+		stale.setOption(Options.COMPACT_BOOLEANS, false);
+		Pregenerator.export(stale, dir);
+
+		try (var loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, getClass().getClassLoader())) {
+			var factory = factory();
+			factory.setClassLoader(loader);
+			Assertions.assertNotSame(loader, factory.build().getClass().getClassLoader());
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.ArrayIO;
+import dev.notalpha.hyphen.io.IOInterface;
+import dev.notalpha.hyphen.scan.annotations.DataNullable;
+import dev.notalpha.hyphen.thr.HyphenException;
+import dev.notalpha.hyphen.util.RecursiveTestUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class ProjectionTest {
+	private static final Entry ENTRY = new Entry(7, 1234L, "payload", new Header((short) 1, "source", true), List.of("a", "b"), 2.5, true, new Header((short) 3, "other", false));
+
+	private static <IO extends IOInterface> void test(SerializerFactory<IO, Entry> factory, IntFunction<IO> create) {
+		var projection = factory.buildProjection("id", "time", "header.source", "extra");
+
+		IO io = create.apply((int) projection.measure(ENTRY) * 2);
+		projection.put(io, ENTRY);
+		projection.put(io, ENTRY);
+		int written = io.pos();
+		io.rewind();
+
+		var expected = new Entry(7, 1234L, null, new Header((short) 0, "source", false), null, 0, false, ENTRY.extra());
+		Assertions.assertEquals(expected, projection.get(io));
+		// Everything else has been skipped, so the next entry can be read.
+		Assertions.assertEquals(expected, projection.get(io));
+		Assertions.assertEquals(written, io.pos());
+		io.close();
+	}
+
+	@Test
+	void decodesSelectedFields() {
+		RecursiveTestUtil.testInlineIO(Entry.class, ProjectionTest::test);
+	}
+
+	@Test
+	void skipsNullFields() {
+		var factory = SerializerFactory.create(ArrayIO.class, Entry.class);
+		var projection = factory.buildProjection("flag", "extra.flag");
+		var entry = new Entry(1, 2L, "", ENTRY.header(), List.of(), 0, true, null);
+		var io = ArrayIO.create((int) projection.measure(entry));
+		projection.put(io, entry);
+		io.rewind();
+		Assertions.assertEquals(new Entry(0, 0L, null, null, null, 0, true, null), projection.get(io));
+		Assertions.assertEquals(projection.measure(entry), io.pos());
+	}
+
+	@Test
+	void unknownFields() {
+		var factory = SerializerFactory.create(ArrayIO.class, Entry.class);
+		Assertions.assertThrows(HyphenException.class, () -> factory.buildProjection("missing"));
+		Assertions.assertThrows(HyphenException.class, () -> factory.buildProjection("tags.size"));
+		Assertions.assertThrows(HyphenException.class, () -> factory.buildProjection("header..source"));
+	}
+
+	public record Header(short version, String source, boolean flag) {
+	}
+
+	public record Entry(int id, long time, String payload, Header header, List<String> tags, double value, boolean flag, @DataNullable Header extra) {
+	}
+}
@@ -0,0 +1,60 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.test.simple.PrimitiveTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class SerializerCacheTest {
+	private static HyphenSerializer<ByteBufferIO, PrimitiveTest> build(Path cacheDir) {
+		var factory = SerializerFactory.create(ByteBufferIO.class, PrimitiveTest.class);
+		factory.setCacheDir(cacheDir);
+		return factory.build();
+	}
+
+	private static List<Path> files(Path dir) throws IOException {
+		try (Stream<Path> list = Files.list(dir)) {
+			return list.collect(Collectors.toList());
+		}
+	}
+
+	private static void roundTrip(HyphenSerializer<ByteBufferIO, PrimitiveTest> serializer) {
+		var io = ByteBufferIO.create(serializer, new PrimitiveTest(420));
+		serializer.put(io, new PrimitiveTest(420));
+		io.rewind();
+		Assertions.assertEquals(new PrimitiveTest(420), serializer.get(io));
+	}
+
+	@Test
+	void reusesCachedClass(@TempDir Path dir) throws IOException {
+		roundTrip(build(dir));
+		List<Path> files = files(dir);
+		Assertions.assertEquals(1, files.size());
+
+		// The file only gets rewritten when the serializer is generated again.
+		Path cached = files.get(0);
+		Files.setLastModifiedTime(cached, FileTime.fromMillis(0));
+		roundTrip(build(dir));
+		Assertions.assertEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(cached));
+		Assertions.assertEquals(files, files(dir));
+	}
+
+	@Test
+	void replacesBrokenClass(@TempDir Path dir) throws IOException {
+		build(dir);
+		Path cached = files(dir).get(0);
+		Files.write(cached, new byte[]{1, 2, 3});
+
+		roundTrip(build(dir));
+		Assertions.assertNotEquals(3, Files.size(cached));
+	}
+}
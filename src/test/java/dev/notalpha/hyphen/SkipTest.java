@@ -0,0 +1,83 @@
+package dev.notalpha.hyphen;
+
+import dev.notalpha.hyphen.io.ArrayIO;
+import dev.notalpha.hyphen.io.StreamIO;
+import dev.notalpha.hyphen.io.UnsafeIO;
+import dev.notalpha.hyphen.scan.annotations.DataNullable;
+import dev.notalpha.hyphen.scan.annotations.DataSubclasses;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SkipTest {
+	private static final List<Entry> ENTRIES = List.of(
+			new Entry(1, "first", List.of(new Point(1, 2)), Map.of("a", 1), Set.of(1L), null, new Circle(3)),
+			new Entry(2, "", List.of(), Map.of(), Set.of(), new Point(3, 4), new Square(5, 6)),
+			new Entry(3, "été", List.of(new Point(5, 6), new Point(7, 8)), Map.of("b", 2, "c", 3), Set.of(2L, 3L), null, new Circle(7))
+	);
+
+	@Test
+	void skipsToLastEntry() {
+		for (boolean varInts : new boolean[]{false, true}) {
+			var factory = SerializerFactory.create(UnsafeIO.class, Entry.class);
+			factory.setOption(Options.VAR_INTS, varInts);
+			var serializer = factory.build();
+
+			var io = UnsafeIO.create(ENTRIES.stream().mapToInt(entry -> (int) serializer.measure(entry)).sum());
+			ENTRIES.forEach(entry -> serializer.put(io, entry));
+			int written = io.pos();
+
+			io.rewind();
+			serializer.skip(io);
+			serializer.skip(io);
+			Assertions.assertEquals(ENTRIES.get(2), serializer.get(io));
+			Assertions.assertEquals(written, io.pos());
+			io.close();
+		}
+	}
+
+	@Test
+	void fixedSizeIsSkippedAtOnce() {
+		var serializer = SerializerFactory.create(ArrayIO.class, Point.class).build();
+		var io = ArrayIO.create(16);
+		serializer.skip(io);
+		Assertions.assertEquals(8, io.pos());
+	}
+
+	@Test
+	void skipsStreams() {
+		var serializer = SerializerFactory.create(StreamIO.class, Entry.class).build();
+		var out = new ByteArrayOutputStream();
+		var writer = StreamIO.write(out, 16);
+		ENTRIES.forEach(entry -> serializer.put(writer, entry));
+		writer.close();
+
+		var reader = StreamIO.read(new ByteArrayInputStream(out.toByteArray()), 16);
+		serializer.skip(reader);
+		Assertions.assertEquals(ENTRIES.get(1), serializer.get(reader));
+		serializer.skip(reader);
+		Assertions.assertEquals(out.size(), reader.pos());
+		reader.close();
+	}
+
+	public record Point(int x, int y) {
+	}
+
+	public interface Shape {
+	}
+
+	public record Circle(int radius) implements Shape {
+	}
+
+	public record Square(int width, long height) implements Shape {
+	}
+
+	public record Entry(int id, String name, List<Point> points, Map<String, Integer> counts, Set<Long> tags, @DataNullable Point extra,
+						@DataSubclasses({Circle.class, Square.class}) Shape shape) {
+	}
+}
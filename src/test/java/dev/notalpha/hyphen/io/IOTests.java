@@ -1,9 +1,16 @@
 package dev.notalpha.hyphen.io;
 
+import dev.notalpha.hyphen.Options;
+import dev.notalpha.hyphen.SerializerFactory;
+import dev.notalpha.hyphen.test.simple.arrays.StringArrayTest;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.*;
 import java.nio.*;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.Function;
 
 public class IOTests {
@@ -15,9 +22,11 @@ public class IOTests {
 	private static final long[] LONGS = {0, Long.MIN_VALUE, Long.MAX_VALUE};
 	private static final float[] FLOATS = {0, Float.MIN_VALUE, Float.MAX_VALUE, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NaN, Float.MIN_NORMAL};
 	private static final double[] DOUBLES = {0, Double.MIN_VALUE, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN, Double.MIN_NORMAL};
-	private static final String[] STRING = {"", "glosco", "ඞ", "Ayo, Crashnite?"};
+	private static final String[] STRING = {"", "glosco", "ඞ", "Ayo, Crashnite?", "é\uD83E\uDD80"};
 
 	private static final int TEST_SIZE = 2000000;
+	// Stream and file backed IOs are tested with a tiny buffer, so every boundary case happens constantly.
+	private static final int STREAM_TEST_SIZE = 20000;
 
 	@Test
 	void unsafe() {
@@ -48,7 +57,128 @@ public class IOTests {
 		testIOByteBuffer(ArrayIO::create);
 	}
 
-	private static <IO extends IOInterface> void testIO(Function<Integer, IO> ioCreator) {
+	@Test
+	void growableArray() {
+		testIO(size -> GrowableArrayIO.create(16));
+		testIOByteBuffer(size -> GrowableArrayIO.create(16));
+	}
+
+	@Test
+	void stream() {
+		testIOBuffered(
+				out -> StreamIO.write(out, 64),
+				in -> StreamIO.read(in, 64)
+		);
+	}
+
+	@Test
+	void channel() {
+		testIOBuffered(
+				out -> ChannelIO.write(Channels.newChannel(out), ByteBuffer.allocateDirect(64)),
+				in -> ChannelIO.read(Channels.newChannel(in), ByteBuffer.allocate(64))
+		);
+	}
+
+	@Test
+	void mapped() throws IOException {
+		final Path file = Files.createTempFile("hyphen", ".bin");
+		try {
+			final MappedIO output = MappedIO.create(file, 16);
+			putValues(output, STREAM_TEST_SIZE);
+			final int written = output.pos();
+			output.close();
+			Assertions.assertEquals(written, Files.size(file), "File was not truncated to the written size");
+
+			final MappedIO input = MappedIO.read(file);
+			getValues(input, STREAM_TEST_SIZE);
+			Assertions.assertEquals(written, input.pos(), "Read size did not match");
+			Assertions.assertThrows(IndexOutOfBoundsException.class, input::getByte, "Reading past the end did not fail");
+			input.close();
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void growablePut() {
+		var serializer = SerializerFactory.create(GrowableArrayIO.class, StringArrayTest.class).build();
+		StringArrayTest.generateStringArrayTest().get().forEach(data -> {
+			final GrowableArrayIO io = serializer.putGrowing(data);
+			Assertions.assertEquals(serializer.measure(data), io.pos(), "Written size did not match measured size");
+			Assertions.assertEquals(io.pos(), io.export().length, "Exported size did not match written size");
+			io.rewind();
+			Assertions.assertEquals(data, serializer.get(io), "Data did not match");
+		});
+	}
+
+	@Test
+	void varInts() {
+		final int[] ints = {0, 1, 127, 128, 16383, 16384, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+		final long[] longs = {0, 1, 127, 128, -1, Long.MAX_VALUE, Long.MIN_VALUE};
+		final ArrayIO io = ArrayIO.create(256);
+		for (int value : ints) {
+			final int start = io.pos();
+			io.putVarInt(value);
+			Assertions.assertEquals(IOInterface.varIntSize(value), io.pos() - start, "Measured size did not match for " + value);
+		}
+		for (long value : longs) {
+			final int start = io.pos();
+			io.putVarLong(value);
+			Assertions.assertEquals(IOInterface.varLongSize(value), io.pos() - start, "Measured size did not match for " + value);
+			Assertions.assertEquals(value, IOInterface.decodeZigZag(IOInterface.encodeZigZag(value)));
+		}
+		io.rewind();
+		for (int value : ints) {
+			Assertions.assertEquals(value, io.getVarInt());
+		}
+		for (long value : longs) {
+			Assertions.assertEquals(value, io.getVarLong());
+		}
+		Assertions.assertEquals(1, IOInterface.varIntSize(IOInterface.encodeZigZag(-64)));
+	}
+
+	@Test
+	void ensureRemaining() {
+		final ArrayIO array = ArrayIO.create(8);
+		array.ensureRemaining(8);
+		array.putInt(0);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> array.ensureRemaining(5), "Checking past the end did not fail");
+
+		final GrowableArrayIO growable = GrowableArrayIO.create(4);
+		growable.putInt(0);
+		growable.ensureRemaining(64);
+		Assertions.assertTrue(growable.capacity() >= 68, "Did not grow ahead of the writes");
+	}
+
+	@Test
+	void truncatedInput() throws IOException {
+		final Path file = Files.createTempFile("hyphen", ".bin");
+		try {
+			Files.write(file, new byte[]{1, 0, 0, 0});
+			final var mapped = SerializerFactory.create(MappedIO.class, Pair.class).build();
+			final MappedIO writable = MappedIO.open(file);
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> mapped.get(writable), "Reading past the end of a writable mapping did not fail");
+			writable.close();
+			final MappedIO readOnly = MappedIO.read(file);
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> mapped.get(readOnly), "Reading past the end of a read-only mapping did not fail");
+			readOnly.close();
+		} finally {
+			Files.delete(file);
+		}
+
+		for (boolean inline : new boolean[]{false, true}) {
+			final var factory = SerializerFactory.create(ArrayIO.class, Pair.class);
+			factory.setOption(Options.INLINE_IO, inline);
+			final var array = factory.build();
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> array.get(ArrayIO.wrap(new byte[]{1, 0, 0, 0})), "Reading past the end of an array did not fail");
+			Assertions.assertEquals(new Pair(1, -2), array.get(ArrayIO.wrap(new byte[]{1, 0, 0, 0, -2, -1, -1, -1})));
+		}
+	}
+
+	public record Pair(int x, int y) {
+	}
+
+	static <IO extends IOInterface> void testIO(Function<Integer, IO> ioCreator) {
 		int stringSize = 0;
 		for (String s : STRING) {
 			stringSize += (s.length() * 2) + 4;
@@ -58,8 +188,32 @@ public class IOTests {
 				(((SHORTS.length) + (CHARS.length)) * 2) +
 				(((INTS.length) + (FLOATS.length)) * 4) +
 				(((LONGS.length) + (DOUBLES.length)) * 8) + stringSize) * 2 * TEST_SIZE);
+		putValues(io, TEST_SIZE);
+		io.rewind();
+		getValues(io, TEST_SIZE);
+		io.close();
+	}
+
+	private static <IO extends IOBufferInterface> void testIOBuffered(Function<OutputStream, IO> writer, Function<InputStream, IO> reader) {
+		var out = new ByteArrayOutputStream();
+		final IO output = writer.apply(out);
+		putValues(output, STREAM_TEST_SIZE);
+		putBuffers(output, STREAM_TEST_SIZE);
+		final int written = output.pos();
+		output.close();
+		Assertions.assertEquals(written, out.size(), "Written size did not match");
+
+		final IO input = reader.apply(new ByteArrayInputStream(out.toByteArray()));
+		getValues(input, STREAM_TEST_SIZE);
+		getBuffers(input, STREAM_TEST_SIZE);
+		Assertions.assertEquals(written, input.pos(), "Read size did not match");
+		Assertions.assertThrows(UncheckedIOException.class, input::getByte, "Reading past the end did not fail");
+		input.close();
+	}
+
+	private static void putValues(IOInterface io, int count) {
 		// Primitives
-		for (int i = 0; i < TEST_SIZE; i++) {
+		for (int i = 0; i < count; i++) {
 			for (var value : BOOLEANS) io.putBoolean(value);
 			for (var value : BYTES) io.putByte(value);
 			for (var value : SHORTS) io.putShort(value);
@@ -69,6 +223,7 @@ public class IOTests {
 			for (var value : LONGS) io.putLong(value);
 			for (var value : DOUBLES) io.putDouble(value);
 			for (var value : STRING) io.putString(value);
+			for (var value : STRING) io.putUtf8(value, Utf8.length(value));
 			io.putBooleanArray(BOOLEANS, BOOLEANS.length);
 			io.putByteArray(BYTES, BYTES.length);
 			io.putShortArray(SHORTS, SHORTS.length);
@@ -79,9 +234,10 @@ public class IOTests {
 			io.putDoubleArray(DOUBLES, DOUBLES.length);
 			io.putStringArray(STRING, STRING.length);
 		}
+	}
 
-		io.rewind();
-		for (int i = 0; i < TEST_SIZE; i++) {
+	private static void getValues(IOInterface io, int count) {
+		for (int i = 0; i < count; i++) {
 			for (var value : BOOLEANS) Assertions.assertEquals(io.getBoolean(), value, "Boolean did not match");
 			for (var value : BYTES) Assertions.assertEquals(io.getByte(), value, "Byte did not match");
 			for (var value : SHORTS) Assertions.assertEquals(io.getShort(), value, "Short did not match");
@@ -91,6 +247,7 @@ public class IOTests {
 			for (var value : LONGS) Assertions.assertEquals(io.getLong(), value, "Long did not match");
 			for (var value : DOUBLES) Assertions.assertEquals(io.getDouble(), value, "Double did not match");
 			for (var value : STRING) Assertions.assertEquals(io.getString(), value, "String did not match");
+			for (var value : STRING) Assertions.assertEquals(io.getUtf8(Utf8.length(value)), value, "UTF-8 did not match");
 			Assertions.assertArrayEquals(io.getBooleanArray(BOOLEANS.length), BOOLEANS, "Boolean Array did not match");
 			Assertions.assertArrayEquals(io.getByteArray(BYTES.length), BYTES, "Byte Array did not match");
 			Assertions.assertArrayEquals(io.getShortArray(SHORTS.length), SHORTS, "Short Array did not match");
@@ -101,12 +258,23 @@ public class IOTests {
 			Assertions.assertArrayEquals(io.getDoubleArray(DOUBLES.length), DOUBLES, "Double Array did not match");
 			Assertions.assertArrayEquals(io.getStringArray(STRING.length), STRING, "String Array did not match");
 		}
-
-		io.close();
 	}
 
 
 	private static <IO extends IOBufferInterface> void testIOByteBuffer(Function<Integer, IO> ioCreator) {
+		int entriesSize = (((BYTES.length))) +
+				(((SHORTS.length) + (CHARS.length)) * 2) +
+				(((INTS.length) + (FLOATS.length)) * 4) +
+				(((LONGS.length) + (DOUBLES.length)) * 8);
+
+		final IO io = ioCreator.apply((entriesSize) * TEST_SIZE);
+		putBuffers(io, TEST_SIZE);
+		io.rewind();
+		getBuffers(io, TEST_SIZE);
+		io.close();
+	}
+
+	private static void putBuffers(IOBufferInterface io, int count) {
 		var bytes = ByteBuffer.wrap(BYTES);
 		var shorts = ShortBuffer.wrap(SHORTS);
 		var chars = CharBuffer.wrap(CHARS);
@@ -115,14 +283,8 @@ public class IOTests {
 		var longs = LongBuffer.wrap(LONGS);
 		var doubles = DoubleBuffer.wrap(DOUBLES);
 
-		int entriesSize = (((BYTES.length))) +
-				(((SHORTS.length) + (CHARS.length)) * 2) +
-				(((INTS.length) + (FLOATS.length)) * 4) +
-				(((LONGS.length) + (DOUBLES.length)) * 8);
-
-		final IO io = ioCreator.apply((entriesSize) * TEST_SIZE);
 		// Primitives
-		for (int i = 0; i < TEST_SIZE; i++) {
+		for (int i = 0; i < count; i++) {
 			io.putByteBuffer(bytes, BYTES.length);
 			io.putShortBuffer(shorts, SHORTS.length);
 			io.putCharBuffer(chars, CHARS.length);
@@ -138,9 +300,10 @@ public class IOTests {
 			longs.rewind();
 			doubles.rewind();
 		}
+	}
 
-		io.rewind();
-		for (int i = 0; i < TEST_SIZE; i++) {
+	private static void getBuffers(IOBufferInterface io, int count) {
+		for (int i = 0; i < count; i++) {
 			{
 				var buffer = ByteBuffer.allocate(BYTES.length);
 				io.getByteBuffer(buffer, BYTES.length);
@@ -184,7 +347,5 @@ public class IOTests {
 				Assertions.assertEquals(buffer.position(), DOUBLES.length);
 			}
 		}
-
-		io.close();
 	}
 }
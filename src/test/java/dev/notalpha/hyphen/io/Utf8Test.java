@@ -0,0 +1,52 @@
+package dev.notalpha.hyphen.io;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class Utf8Test {
+	private static final String[] STRINGS = {
+			"", "glosco", "é", "ඞ", "🦀", "Ayo, Crashnite? ඞ🦀é",
+			// Unpaired surrogates, which String.getBytes replaces with '?'.
+			"\uD83E", "\uDD80", "a\uDD80\uD83Eb", "\uD83E🦀",
+			"\u007F\u0080߿ࠀ￿"
+	};
+
+	@Test
+	void sameAsGetBytes() {
+		for (String string : STRINGS) {
+			byte[] expected = string.getBytes(StandardCharsets.UTF_8);
+			Assertions.assertEquals(expected.length, Utf8.length(string), string);
+
+			byte[] array = new byte[expected.length + 2];
+			Utf8.encode(string, array, 1);
+			Assertions.assertArrayEquals(expected, Arrays.copyOfRange(array, 1, expected.length + 1), string);
+
+			ByteBuffer direct = ByteBuffer.allocateDirect(expected.length + 2);
+			Utf8.encode(string, direct, 1);
+			byte[] fromDirect = new byte[expected.length];
+			direct.get(1, fromDirect);
+			Assertions.assertArrayEquals(expected, fromDirect, string);
+			Assertions.assertEquals(0, direct.position());
+		}
+	}
+
+	@Test
+	void decode() {
+		byte[] scratch = new byte[4];
+		for (String string : STRINGS) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			String expected = new String(bytes, StandardCharsets.UTF_8);
+
+			ByteBuffer heap = ByteBuffer.allocate(bytes.length + 1).put(1, bytes);
+			Assertions.assertEquals(expected, Utf8.decode(heap, 1, bytes.length, null));
+
+			ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 1).put(1, bytes);
+			Assertions.assertEquals(expected, Utf8.decode(direct, 1, bytes.length, scratch));
+			Assertions.assertEquals(expected, Utf8.decode(direct, 1, bytes.length, null));
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package dev.notalpha.hyphen.scan.test;
+
+import dev.notalpha.hyphen.scan.ClassInfo;
+import dev.notalpha.hyphen.scan.StructScanner;
+import dev.notalpha.hyphen.scan.TestUtils;
+import dev.notalpha.hyphen.scan.data.Apple;
+import dev.notalpha.hyphen.scan.struct.ClassStruct;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+
+public class ClassInfoTests {
+	public static class Data<T extends Number> {
+		public static int ignored;
+		public T value;
+		private int hidden;
+
+		public Data(T value, int hidden) {
+			this.value = value;
+			this.hidden = hidden;
+		}
+
+		public int getHidden() {
+			return hidden;
+		}
+	}
+
+	public static class Holder {
+		@Apple
+		public Data<Integer> data;
+	}
+
+	@Test
+	void cached() {
+		Assertions.assertSame(ClassInfo.of(Data.class), ClassInfo.of(Data.class));
+	}
+
+	@Test
+	void reflection() {
+		ClassInfo info = ClassInfo.of(Data.class);
+		Assertions.assertEquals(List.of("value", "hidden"), info.fields.stream().map(field -> field.field().getName()).toList());
+		Assertions.assertEquals(1, info.typeParameters.size());
+		Assertions.assertEquals(Number.class, info.typeParameterBounds.get(0)[0].getType());
+		Assertions.assertTrue(info.hasGetter("getHidden"));
+		Assertions.assertFalse(info.hasGetter("getValue"));
+		Assertions.assertNotNull(info.getDeclaredConstructor(Number.class, int.class));
+		Assertions.assertNull(info.getDeclaredConstructor(Object.class, int.class));
+	}
+
+	@Test
+	void providersAreNotCached() throws NoSuchFieldException {
+		var type = Holder.class.getDeclaredField("data").getAnnotatedType();
+		ClassStruct plain = (ClassStruct) new StructScanner().scan(type, null);
+		ClassStruct provided = (ClassStruct) new StructScanner(Map.<Object, List<Annotation>>of(Data.class, List.of(TestUtils.BANANA))).scan(type, null);
+
+		Assertions.assertEquals(List.of(TestUtils.APPLE), plain.getAnnotations());
+		Assertions.assertEquals(List.of(TestUtils.BANANA, TestUtils.APPLE), provided.getAnnotations());
+	}
+}
@@ -1,164 +1,224 @@
 package dev.notalpha.hyphen.sped;
 
+import dev.notalpha.hyphen.SerializerFactory;
+import dev.notalpha.hyphen.io.ByteBufferIO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+/**
+ * Every class holds three of the next one, so there are 3^16 paths to the innermost class.
+ * The build has to visit each class once instead of once per path.
+ */
 public class CachingTest {
+	@Test
+	void buildsInLinearTime() {
+		Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+			var factory = SerializerFactory.createDebug(ByteBufferIO.class, Class0.class);
+			factory.build();
+		});
+	}
 
 	public static class Class0 {
-		Class1<CachingTest> class1;
-		// Class1<String> class2;
-		// Class1<String> class3;
-		// Class1<String> class4;
-		// Class1<String> class5;
-		// Class1<String> class6;
-		// Class1<String> class7;
-		// Class1<String> class8;
-		// Class1<String> class9;
-		// Class1<String> class0;
-		// Class1<String> class11;
-		// Class1<String> class21;
-		// Class1<String> class31;
-		// Class1<String> class41;
-		// Class1<String> class51;
-		// Class1<String> class61;
-		// Class1<String> class71;
-		// Class1<String> class81;
-		// Class1<String> class91;
-		// Class1<String> class01;
-		// Class1<String> class12;
-		// Class1<String> class22;
-		// Class1<String> class32;
-		// Class1<String> class42;
-		// Class1<String> class52;
-		// Class1<String> class62;
-		// Class1<String> class72;
-		// Class1<String> class82;
-		// Class1<String> class92;
-		// Class1<String> class02;
+		public Class1<CachingTest> class1;
+
+		public Class0(Class1<CachingTest> class1) {
+			this.class1 = class1;
+		}
 	}
 
 	public static class Class1<A> {
-		Class2<A> class1;
-		// Class2<A> class2;
-		// Class2<A> class3;
-		// Class2<A> class4;
-		// Class2<A> class5;
-		// Class2<A> class6;
-		// Class2<A> class7;
-		// Class2<A> class8;
-		// Class2<A> class9;
-		// Class2<A> class0;
+		public Class2<A> class1;
+		public Class2<A> class2;
+		public Class2<A> class3;
+
+		public Class1(Class2<A> class1, Class2<A> class2, Class2<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class2<A> {
-		Class3<A> class1;
-		// Class3<A> class2;
-		// Class3<A> class3;
-		// Class3<A> class4;
-		// Class3<A> class5;
-		// Class3<A> class6;
-		// Class3<A> class7;
-		// Class3<A> class8;
-		// Class3<A> class9;
-		// Class3<A> class0;
+		public Class3<A> class1;
+		public Class3<A> class2;
+		public Class3<A> class3;
+
+		public Class2(Class3<A> class1, Class3<A> class2, Class3<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class3<A> {
-		Class4<A> class1;
-		// Class4<A> class2;
-		// Class4<A> class3;
-		// Class4<A> class4;
-		// Class4<A> class5;
-		// Class4<A> class6;
-		// Class4<A> class7;
-		// Class4<A> class8;
-		// Class4<A> class9;
-		// Class4<A> class0;
+		public Class4<A> class1;
+		public Class4<A> class2;
+		public Class4<A> class3;
+
+		public Class3(Class4<A> class1, Class4<A> class2, Class4<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class4<A> {
-		Class5<A> class1;
-		// Class5<A> class2;
-		// Class5<A> class3;
-		// Class5<A> class4;
-		// Class5<A> class5;
-		// Class5<A> class6;
-		// Class5<A> class7;
-		// Class5<A> class8;
-		// Class5<A> class9;
-		// Class5<A> class0;
+		public Class5<A> class1;
+		public Class5<A> class2;
+		public Class5<A> class3;
+
+		public Class4(Class5<A> class1, Class5<A> class2, Class5<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class5<A> {
-		Class6<A> class1;
-		Class6<A> class2;
-		Class6<A> class3;
-		// Class6<A> class4;
-		// Class6<A> class5;
-		// Class6<A> class6;
-		// Class6<A> class7;
-		// Class6<A> class8;
-		// Class6<A> class9;
-		// Class6<A> class0;
+		public Class6<A> class1;
+		public Class6<A> class2;
+		public Class6<A> class3;
+
+		public Class5(Class6<A> class1, Class6<A> class2, Class6<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class6<A> {
-		Class7<A> class1;
-		// Class7<A> class2;
-		// Class7<A> class3;
-		// Class7<A> class4;
-		// Class7<A> class5;
-		// Class7<A> class6;
-		// Class7<A> class7;
-		// Class7<A> class8;
-		// Class7<A> class9;
-		// Class7<A> class0;
-	}
+		public Class7<A> class1;
+		public Class7<A> class2;
+		public Class7<A> class3;
 
+		public Class6(Class7<A> class1, Class7<A> class2, Class7<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
+	}
 
 	public static class Class7<A> {
-		Class8<A> class1;
-		Class8<A> class2;
-		Class8<A> class3;
-		// Class8<A> class4;
-		// Class8<A> class5;
-		// Class8<A> class6;
-		// Class8<A> class7;
-		// Class8<A> class8;
-		// Class8<A> class9;
-		// Class8<A> class0;
+		public Class8<A> class1;
+		public Class8<A> class2;
+		public Class8<A> class3;
+
+		public Class7(Class8<A> class1, Class8<A> class2, Class8<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class8<A> {
-		Class9<A> class1;
-		Class9<A> class2;
-		Class9<A> class3;
-		// Class9<A> class4;
-		// Class9<A> class5;
-		// Class9<A> class6;
-		// Class9<A> class7;
-		// Class9<A> class8;
-		// Class9<A> class9;
-		// Class9<A> class0;
+		public Class9<A> class1;
+		public Class9<A> class2;
+		public Class9<A> class3;
+
+		public Class8(Class9<A> class1, Class9<A> class2, Class9<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class9<A> {
-		Class10<A> class1;
-		Class10<A> class2;
-		Class10<A> class3;
-		// Class10<A> class4;
-		// Class10<A> class5;
-		// Class10<A> class6;
-		// Class10<A> class7;
-		// Class10<A> class8;
-		// Class10<A> class9;
-		// Class10<A> class0;
+		public Class10<A> class1;
+		public Class10<A> class2;
+		public Class10<A> class3;
+
+		public Class9(Class10<A> class1, Class10<A> class2, Class10<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
 	}
 
 	public static class Class10<A> {
-		A a1;
-		A a2;
-		A a3;
-		A a4;
-		int anInt;
-		double aDouble;
+		public Class11<A> class1;
+		public Class11<A> class2;
+		public Class11<A> class3;
+
+		public Class10(Class11<A> class1, Class11<A> class2, Class11<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
+	}
+
+	public static class Class11<A> {
+		public Class12<A> class1;
+		public Class12<A> class2;
+		public Class12<A> class3;
+
+		public Class11(Class12<A> class1, Class12<A> class2, Class12<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
+	}
+
+	public static class Class12<A> {
+		public Class13<A> class1;
+		public Class13<A> class2;
+		public Class13<A> class3;
+
+		public Class12(Class13<A> class1, Class13<A> class2, Class13<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
+	}
+
+	public static class Class13<A> {
+		public Class14<A> class1;
+		public Class14<A> class2;
+		public Class14<A> class3;
+
+		public Class13(Class14<A> class1, Class14<A> class2, Class14<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
+	}
+
+	public static class Class14<A> {
+		public Class15<A> class1;
+		public Class15<A> class2;
+		public Class15<A> class3;
+
+		public Class14(Class15<A> class1, Class15<A> class2, Class15<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
+	}
+
+	public static class Class15<A> {
+		public Class16<A> class1;
+		public Class16<A> class2;
+		public Class16<A> class3;
+
+		public Class15(Class16<A> class1, Class16<A> class2, Class16<A> class3) {
+			this.class1 = class1;
+			this.class2 = class2;
+			this.class3 = class3;
+		}
+	}
+
+	public static class Class16<A> {
+		public A a1;
+		public A a2;
+		public int anInt;
+		public double aDouble;
+
+		public Class16(A a1, A a2, int anInt, double aDouble) {
+			this.a1 = a1;
+			this.a2 = a2;
+			this.anInt = anInt;
+			this.aDouble = aDouble;
+		}
 	}
 }
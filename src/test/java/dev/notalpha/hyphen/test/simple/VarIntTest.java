@@ -0,0 +1,69 @@
+package dev.notalpha.hyphen.test.simple;
+
+import dev.notalpha.hyphen.scan.annotations.DataVarInt;
+import dev.notalpha.hyphen.util.TestSupplierUtil;
+import dev.notalpha.hyphen.util.TestThis;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@TestThis
+public class VarIntTest {
+    public @DataVarInt int value;
+    public @DataVarInt long big;
+    public @DataVarInt Integer boxed;
+    public @DataVarInt String name;
+    public int @DataVarInt [] values;
+
+    public VarIntTest(int value, long big, Integer boxed, String name, int[] values) {
+        this.value = value;
+        this.big = big;
+        this.boxed = boxed;
+        this.name = name;
+        this.values = values;
+    }
+
+    public static Supplier<Stream<? extends VarIntTest>> generateVarIntTest() {
+        return () -> {
+            List<? extends String> strings = TestSupplierUtil.STRINGS.get().collect(Collectors.toList());
+            return Stream.of(0L, 1L, -1L, 127L, 128L, -65L, 300L, Long.MAX_VALUE, Long.MIN_VALUE).flatMap(big ->
+                    TestSupplierUtil.INTS.get().mapToObj(i -> new VarIntTest(
+                            i,
+                            big,
+                            (int) big.longValue(),
+                            strings.get(Math.floorMod(i + big.intValue(), strings.size())),
+                            new int[Math.floorMod(big.intValue(), 200)]
+                    ))
+            );
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || this.getClass() != o.getClass()) return false;
+        VarIntTest that = (VarIntTest) o;
+        return this.value == that.value && this.big == that.big && Objects.equals(this.boxed, that.boxed)
+                && Objects.equals(this.name, that.name) && Arrays.equals(this.values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.value, this.big, this.boxed, this.name, Arrays.hashCode(this.values));
+    }
+
+    @Override
+    public String toString() {
+        return "VarIntTest{" +
+                "value=" + this.value +
+                ", big=" + this.big +
+                ", boxed=" + this.boxed +
+                ", name='" + this.name + '\'' +
+                ", values=" + this.values.length +
+                '}';
+    }
+}
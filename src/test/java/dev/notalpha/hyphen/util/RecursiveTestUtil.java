@@ -3,8 +3,12 @@ package dev.notalpha.hyphen.util;
 import dev.notalpha.hyphen.FailTest;
 import dev.notalpha.hyphen.Options;
 import dev.notalpha.hyphen.SerializerFactory;
+import dev.notalpha.hyphen.io.ArrayIO;
 import dev.notalpha.hyphen.io.ByteBufferIO;
+import dev.notalpha.hyphen.io.IOInterface;
+import dev.notalpha.hyphen.io.UnsafeIO;
 import dev.notalpha.hyphen.test.poly.general.DoubleC1Pain;
+import dev.notalpha.hyphen.thr.HyphenException;
 import org.junit.jupiter.api.*;
 import org.objectweb.asm.Opcodes;
 import org.opentest4j.AssertionFailedError;
@@ -13,10 +17,13 @@ import org.opentest4j.TestSkippedException;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -94,6 +101,45 @@ public class RecursiveTestUtil {
 		return testAll("dev.notalpha.hyphen.test.simple.buffer");
 	}
 
+	@TestFactory
+	DynamicNode testInlineIO() {
+		return DynamicContainer.dynamicContainer("inlineIO", Stream.of(
+				testAll("dev.notalpha.hyphen.test.simple", ArrayIO.class, ArrayIO::create, RecursiveTestUtil::inlineIO),
+				testAll("dev.notalpha.hyphen.test.simple", UnsafeIO.class, UnsafeIO::create, RecursiveTestUtil::inlineIO),
+				testAll("dev.notalpha.hyphen.test.simple.arrays", ArrayIO.class, ArrayIO::create, RecursiveTestUtil::inlineIO),
+				testAll("dev.notalpha.hyphen.test.poly.general", ByteBufferIO.class, ByteBufferIO::create, RecursiveTestUtil::inlineIO)
+		));
+	}
+
+	private static void inlineIO(SerializerFactory<?, ?> factory) {
+		factory.setOption(Options.INLINE_IO, true);
+	}
+
+	@TestFactory
+	DynamicNode testVarInts() {
+		return DynamicContainer.dynamicContainer("varInts", Stream.of(
+				"dev.notalpha.hyphen.test.simple",
+				"dev.notalpha.hyphen.test.simple.arrays",
+				"dev.notalpha.hyphen.test.simple.map",
+				"dev.notalpha.hyphen.test.simple.buffer"
+		).map(packageName -> testAll(packageName, ByteBufferIO.class, ByteBufferIO::create, factory -> factory.setOption(Options.VAR_INTS, true))));
+	}
+
+	@TestFactory
+	DynamicNode testHiddenClass() {
+		return DynamicContainer.dynamicContainer("hiddenClass", Stream.of(
+				testAll("dev.notalpha.hyphen.test.simple", ByteBufferIO.class, ByteBufferIO::create, factory -> factory.setLookup(MethodHandles.lookup(), false)),
+				testAll("dev.notalpha.hyphen.test.poly.general", ByteBufferIO.class, ByteBufferIO::create, factory -> factory.setLookup(MethodHandles.lookup(), true))
+		));
+	}
+
+	@Test
+	void hiddenClassNeedsLookup() {
+		var factory = SerializerFactory.create(ByteBufferIO.class, DoubleC1Pain.class);
+		factory.setOption(Options.HIDDEN_CLASS, true);
+		Assertions.assertThrows(HyphenException.class, factory::build);
+	}
+
 	public static DynamicNode testAll(String packageName) {
 		return DynamicContainer.dynamicContainer(
 				packageName,
@@ -101,18 +147,52 @@ public class RecursiveTestUtil {
 		);
 	}
 
+	public static <IO extends IOInterface> DynamicNode testAll(String packageName, Class<IO> ioClass, IntFunction<IO> ioCreator, Consumer<SerializerFactory<?, ?>> configure) {
+		return DynamicContainer.dynamicContainer(
+				packageName + " (" + ioClass.getSimpleName() + ")",
+				findTestClasses(packageName).map(clazz -> test(clazz, ioClass, ioCreator, configure))
+		);
+	}
+
+	public interface InlineIOTest<D> {
+		<IO extends IOInterface> void test(SerializerFactory<IO, D> factory, IntFunction<IO> ioCreator);
+	}
+
+	/**
+	 * Runs the test against every IO that supports {@link Options#INLINE_IO}, both with and without it.
+	 */
+	public static <D> void testInlineIO(Class<D> dataClass, InlineIOTest<D> test) {
+		for (boolean inline : new boolean[]{false, true}) {
+			testInlineIO(dataClass, ArrayIO.class, ArrayIO::create, inline, test);
+			testInlineIO(dataClass, ByteBufferIO.class, ByteBufferIO::create, inline, test);
+			testInlineIO(dataClass, UnsafeIO.class, UnsafeIO::create, inline, test);
+		}
+	}
+
+	private static <IO extends IOInterface, D> void testInlineIO(Class<D> dataClass, Class<IO> ioClass, IntFunction<IO> ioCreator, boolean inline, InlineIOTest<D> test) {
+		var factory = SerializerFactory.create(ioClass, dataClass);
+		factory.setOption(Options.INLINE_IO, inline);
+		test.test(factory, ioCreator);
+	}
+
 	@TestFactory
 	public DynamicNode test5() {
 		return test(DoubleC1Pain.class);
 	}
 
 	public static <O> DynamicNode test(Class<O> clazz) {
+		return test(clazz, ByteBufferIO.class, ByteBufferIO::create, factory -> {
+		});
+	}
+
+	public static <IO extends IOInterface, O> DynamicNode test(Class<O> clazz, Class<IO> ioClass, IntFunction<IO> ioCreator, Consumer<SerializerFactory<?, ?>> configure) {
 		// Run all the tests
 		try {
 			// Generate the serializer
-			var factory = SerializerFactory.create(ByteBufferIO.class, clazz);
+			var factory = SerializerFactory.create(ioClass, clazz);
 			factory.setOption(Options.SHORT_METHOD_NAMES, false);
 			factory.setOption(Options.SHORT_VARIABLE_NAMES, false);
+			configure.accept(factory);
 			var serializer = factory.build();
 
 
@@ -160,7 +240,7 @@ public class RecursiveTestUtil {
 								}
 
 								// adding extra room
-								var io = ByteBufferIO.create((int) ((measuredSize + 64) * 4));
+								var io = ioCreator.apply((int) ((measuredSize + 64) * 4));
 
 								// put
 								serializer.put(io, data);
@@ -220,6 +300,12 @@ public class RecursiveTestUtil {
 								// result check
 								if (!data.equals(dataOut))
 									errors.add(new AssertionFailedError("Objects do not match\n" + data + "\n != \n" + dataOut, data, dataOut));
+
+								// skip check
+								io.rewind();
+								serializer.skip(io);
+								if (io.pos() != writtenSize)
+									errors.add("Skipped size does not match the written size. " + io.pos() + " != " + writtenSize);
 							} catch (Throwable t) {
 								errors.add(t);
 							}
@@ -0,0 +1,57 @@
+package dev.notalpha.hyphen.io;
+
+import dev.notalpha.hyphen.SerializerFactory;
+import dev.notalpha.hyphen.test.simple.arrays.StringArrayTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+public class SegmentIOTests {
+	@Test
+	void confined() {
+		IOTests.testIO(SegmentIO::create);
+	}
+
+	@Test
+	void heap() {
+		IOTests.testIO(size -> SegmentIO.wrap(new byte[size]));
+	}
+
+	@Test
+	void arena() {
+		try (Arena arena = Arena.ofConfined()) {
+			IOTests.testIO(size -> SegmentIO.allocate(arena, size));
+		}
+	}
+
+	@Test
+	void boundsChecked() {
+		final SegmentIO io = SegmentIO.create(4);
+		io.putInt(1);
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> io.putByte((byte) 1));
+		io.close();
+	}
+
+	@Test
+	void released() {
+		final SegmentIO io = SegmentIO.create(4);
+		final MemorySegment segment = io.segment();
+		io.close();
+		Assertions.assertFalse(segment.scope().isAlive(), "Memory was not released on close");
+	}
+
+	@Test
+	void serializer() {
+		var serializer = SerializerFactory.create(SegmentIO.class, StringArrayTest.class).build();
+		StringArrayTest.generateStringArrayTest().get().forEach(data -> {
+			final SegmentIO io = SegmentIO.create(serializer, data);
+			serializer.put(io, data);
+			Assertions.assertEquals(serializer.measure(data), io.pos(), "Written size did not match measured size");
+			io.rewind();
+			Assertions.assertEquals(data, serializer.get(io), "Data did not match");
+			io.close();
+		});
+	}
+}